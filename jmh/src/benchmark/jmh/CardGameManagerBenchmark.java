@@ -0,0 +1,126 @@
+package benchmark.jmh;
+
+import benchmark.CardGameBenchmarks;
+import benchmark.Workload;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The JMH benchmarks of the {@link controller.CardGameManager}: resetting, drawing, building and
+ * listing the buildable objects.
+ *
+ * The benchmarks run the same workloads as {@link CardGameBenchmarks}, so their results can be compared
+ * with those of the runner of the game itself. The build benchmarks include the draws of their resources,
+ * which are measured on their own by {@link #drawBuildPrefix()}.
+ *
+ * @author Moritz
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CardGameManagerBenchmark {
+
+    private Workload reset;
+    private Workload drawFullDeck;
+    private Workload drawBuildPrefix;
+    private Workload buildWithoutShack;
+    private Workload buildWithShack;
+    private Workload allBuildableObjects;
+
+    /**
+     * Creates the workloads, each on its own started game.
+     *
+     * @throws Exception if a workload cannot be set up
+     */
+    @Setup
+    public void setUp() throws Exception {
+        Map<String, Workload> workloads = CardGameBenchmarks.createWorkloads();
+        reset = workloads.get("reset");
+        drawFullDeck = workloads.get("draw.fullDeck");
+        drawBuildPrefix = workloads.get("draw.buildPrefix");
+        buildWithoutShack = workloads.get("build.withoutShack");
+        buildWithShack = workloads.get("build.withShack");
+        allBuildableObjects = workloads.get("allBuildableObjects");
+    }
+
+    /**
+     * Resets a started game.
+     *
+     * @return the game state after the reset
+     * @throws Exception if the reset failed
+     */
+    @Benchmark
+    public int reset() throws Exception {
+        return reset.run();
+    }
+
+    /**
+     * Draws the whole deck, the encounters are resolved with rolled dice.
+     *
+     * @return the sum of the drawn type IDs and the results of the encounters
+     * @throws Exception if a draw failed
+     */
+    @Benchmark
+    public int drawFullDeck() throws Exception {
+        return drawFullDeck.run();
+    }
+
+    /**
+     * Draws the resources that the build benchmarks need.
+     *
+     * @return the number of drawn resources
+     * @throws Exception if a draw failed
+     */
+    @Benchmark
+    public int drawBuildPrefix() throws Exception {
+        return drawBuildPrefix.run();
+    }
+
+    /**
+     * Builds a club, an axe and a fireplace without a shack.
+     *
+     * @return the game state after the last build
+     * @throws Exception if a build failed
+     */
+    @Benchmark
+    public int buildWithoutShack() throws Exception {
+        return buildWithoutShack.run();
+    }
+
+    /**
+     * Builds a shack, a club, an axe and a fireplace, so that the shack is used.
+     *
+     * @return the game state after the last build
+     * @throws Exception if a build failed
+     */
+    @Benchmark
+    public int buildWithShack() throws Exception {
+        return buildWithShack.run();
+    }
+
+    /**
+     * Lists the objects that can be built with the resources for a shack, a club, an axe and a fireplace.
+     *
+     * @return the number of buildable objects
+     * @throws Exception if the game has not been started
+     */
+    @Benchmark
+    public int allBuildableObjects() throws Exception {
+        return allBuildableObjects.run();
+    }
+}
@@ -0,0 +1,86 @@
+package benchmark.jmh;
+
+import benchmark.CardGameBenchmarks;
+import benchmark.Workload;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The JMH benchmarks of the command line: parsing and executing a start command with all 64 cards and
+ * the dispatch of a short game by the {@link view.cli.CommandLineInterface}.
+ *
+ * The benchmarks run the same workloads as {@link CardGameBenchmarks}, so their results can be compared
+ * with those of the runner of the game itself.
+ *
+ * @author Moritz
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommandLineBenchmark {
+
+    private Workload parseStart;
+    private Workload executeStart;
+    private Workload dispatch;
+
+    /**
+     * Creates the workloads.
+     *
+     * @throws Exception if a workload cannot be set up
+     */
+    @Setup
+    public void setUp() throws Exception {
+        Map<String, Workload> workloads = CardGameBenchmarks.createWorkloads();
+        parseStart = workloads.get("parse.start64");
+        executeStart = workloads.get("execute.start64");
+        dispatch = workloads.get("cli.dispatch");
+    }
+
+    /**
+     * Parses a start command with all 64 cards.
+     *
+     * @return the number of parsed cards
+     * @throws Exception if the command cannot be parsed
+     */
+    @Benchmark
+    public int parseStart64() throws Exception {
+        return parseStart.run();
+    }
+
+    /**
+     * Parses and executes a start command with all 64 cards, the deck is taken from the deck cache.
+     *
+     * @return the game state after the start
+     * @throws Exception if the command failed
+     */
+    @Benchmark
+    public int executeStart64() throws Exception {
+        return executeStart.run();
+    }
+
+    /**
+     * Executes the lines of a short game: a reset, the draws of a few resources, a build and the lists.
+     *
+     * @return the number of executed lines
+     * @throws Exception if a line failed
+     */
+    @Benchmark
+    public int dispatch() throws Exception {
+        return dispatch.run();
+    }
+}
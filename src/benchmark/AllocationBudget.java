@@ -0,0 +1,206 @@
+package benchmark;
+
+import controller.CardGameManager;
+import controller.Deck;
+import controller.dice.BatchDiceSource;
+import edu.kit.informatik.Terminal;
+import model.BuildableObject;
+import model.Card;
+import model.GameState;
+import model.exceptions.CardStackException;
+import model.exceptions.IllegalGameStateException;
+import model.exceptions.RollDiceException;
+import model.exceptions.ScavengerException;
+import simulation.PriorityBuildPolicy;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+import static model.CardType.AMOUNT_OF_CARDS;
+
+/**
+ * The allocation budget checks how much memory the hot methods of the {@link CardGameManager} allocate.
+ *
+ * Whole games are played on shuffled decks with the greedy build policy and seeded dice. The memory
+ * that each call of draw, build, rollDice and getAllBuildableObjectsAsList allocates is taken from the
+ * thread MX bean of the current thread. The games are played a few times to warm up, so that the methods
+ * are compiled, and once more to measure them. A method is over its budget if it allocates more bytes per
+ * call on average than its budget allows. In that case the exit code is 1, so that the check can be used
+ * as a gate.
+ *
+ * @author Moritz
+ * @version 1.0
+ */
+public final class AllocationBudget {
+
+    private static final int DRAW = 0;
+    private static final int BUILD = 1;
+    private static final int ROLL_DICE = 2;
+    private static final int BUILDABLE_OBJECTS = 3;
+
+    private static final String[] NAMES = {"draw", "build", "rollDice", "getAllBuildableObjectsAsList"};
+
+    // the allowed bytes per call: the buildable objects are returned in a new list of at most eight objects.
+    // Drawing, building and rolling the dice must not allocate, their events are only created while recorded.
+    private static final double[] BUDGETS = {0, 0, 0, 72};
+
+    private static final int DECKS = 16;
+    private static final int GAMES_PER_DECK = 2_000;
+    private static final long DEFAULT_SEED = 42;
+    // enough rounds that all hot methods are compiled by the final tier before they are measured
+    private static final int WARMUP_ROUNDS = 3;
+
+    private final com.sun.management.ThreadMXBean allocationBean;
+    private final long[] calls;
+    private final long[] allocatedBytes;
+
+    // the bytes that reading the allocated bytes twice reports by itself
+    private long overhead;
+
+    private AllocationBudget(com.sun.management.ThreadMXBean allocationBean) {
+        this.allocationBean = allocationBean;
+        this.calls = new long[NAMES.length];
+        this.allocatedBytes = new long[NAMES.length];
+    }
+
+    /**
+     * Plays the games and prints the allocations of each method compared with its budget.
+     * The exit code is 1 if a method is over its budget.
+     *
+     * @param args optionally the seed of the decks and the dice
+     * @throws CardStackException if a shuffled deck is invalid
+     */
+    public static void main(String[] args) throws CardStackException {
+        long seed = DEFAULT_SEED;
+        if (args.length > 0) {
+            try {
+                seed = Long.parseLong(args[0]);
+            } catch (NumberFormatException nfe) {
+                Terminal.printError("cannot parse number");
+                return;
+            }
+        }
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        if (!(threadBean instanceof com.sun.management.ThreadMXBean)
+                || !((com.sun.management.ThreadMXBean) threadBean).isThreadAllocatedMemorySupported()) {
+            Terminal.printError("the allocated memory of a thread cannot be measured by this virtual machine");
+            return;
+        }
+        com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+        allocationBean.setThreadAllocatedMemoryEnabled(true);
+
+        Deck[] decks = new Deck[DECKS];
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = 0; i < DECKS; i++) {
+            decks[i] = Deck.shuffled(random);
+        }
+
+        // the first runs only warm up, so that escape analysis can remove the short-lived objects
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            new AllocationBudget(allocationBean).playAll(decks, seed);
+        }
+        AllocationBudget budget = new AllocationBudget(allocationBean);
+        budget.playAll(decks, seed);
+        System.exit(budget.report() == 0 ? 0 : 1);
+    }
+
+    private void playAll(Deck[] decks, long seed) {
+        overhead = calibrate();
+        CardGameManager backend = new CardGameManager();
+        backend.setDiceSource(new BatchDiceSource(seed));
+        try {
+            for (Deck deck : decks) {
+                backend.setGameState(GameState.END);
+                backend.start(deck);
+                for (int i = 0; i < GAMES_PER_DECK; i++) {
+                    playGame(backend);
+                }
+            }
+        } catch (IllegalGameStateException | RollDiceException | ScavengerException e) {
+            // the player only chooses allowed actions
+            throw new IllegalStateException("the player made an illegal move: " + e.getMessage());
+        }
+    }
+
+    // plays one game like the monte carlo simulator, but measures each call of the hot methods
+    private void playGame(CardGameManager backend)
+            throws IllegalGameStateException, RollDiceException, ScavengerException {
+        backend.reset();
+        while (true) {
+            long before;
+            switch (backend.getGameState()) {
+                case SCAVENGE:
+                    before = allocationBean.getCurrentThreadAllocatedBytes();
+                    List<BuildableObject> buildableObjects = backend.getAllBuildableObjectsAsList();
+                    record(BUILDABLE_OBJECTS, before);
+                    BuildableObject choice = buildableObjects.isEmpty()
+                            ? null : PriorityBuildPolicy.GREEDY.chooseBuild(buildableObjects, backend);
+                    if (choice != null) {
+                        before = allocationBean.getCurrentThreadAllocatedBytes();
+                        backend.build(choice);
+                        record(BUILD, before);
+                        if (backend.getGameState() == GameState.WIN) {
+                            return;
+                        }
+                        break;
+                    }
+                    before = allocationBean.getCurrentThreadAllocatedBytes();
+                    Card card = backend.draw();
+                    record(DRAW, before);
+                    if (card == null) {
+                        return;
+                    }
+                    backend.setGameState(backend.getGameState().resolve());
+                    break;
+                case ENCOUNTER:
+                case ENDEAVOR:
+                    before = allocationBean.getCurrentThreadAllocatedBytes();
+                    GameState result = backend.rollDice();
+                    record(ROLL_DICE, before);
+                    if (result == GameState.WIN) {
+                        return;
+                    }
+                    break;
+                default:
+                    return;
+            }
+        }
+    }
+
+    private void record(int method, long before) {
+        calls[method]++;
+        allocatedBytes[method] += allocationBean.getCurrentThreadAllocatedBytes() - before - overhead;
+    }
+
+    // measures an empty interval, reading the allocated bytes should not allocate itself
+    private long calibrate() {
+        long minimum = Long.MAX_VALUE;
+        for (int i = 0; i < AMOUNT_OF_CARDS; i++) {
+            long before = allocationBean.getCurrentThreadAllocatedBytes();
+            minimum = Math.min(minimum, allocationBean.getCurrentThreadAllocatedBytes() - before);
+        }
+        return minimum;
+    }
+
+    // prints the report and returns the number of methods over their budget
+    private int report() {
+        int overBudget = 0;
+        Terminal.printLine(String.format(Locale.ROOT, "%-30s %10s %14s %10s %10s",
+                "method", "calls", "bytes", "B/call", "budget"));
+        for (int method = 0; method < NAMES.length; method++) {
+            double bytesPerCall = calls[method] == 0 ? 0 : allocatedBytes[method] / (double) calls[method];
+            boolean over = bytesPerCall > BUDGETS[method];
+            if (over) {
+                overBudget++;
+            }
+            Terminal.printLine(String.format(Locale.ROOT, "%-30s %10d %14d %10.1f %10.1f%s",
+                    NAMES[method], calls[method], allocatedBytes[method], bytesPerCall, BUDGETS[method],
+                    over ? "  OVER BUDGET" : ""));
+        }
+        Terminal.printLine(overBudget + " methods over budget");
+        return overBudget;
+    }
+}
@@ -0,0 +1,74 @@
+package benchmark;
+
+import java.util.Locale;
+
+/**
+ * The result of a benchmarked workload: the time and the allocated memory per operation
+ * and the garbage collections during the measurement.
+ *
+ * @author Moritz
+ * @version 1.0
+ */
+public final class BenchmarkResult {
+
+    private final String name;
+    private final double nanosPerOperation;
+    private final double errorNanosPerOperation;
+    private final double bytesPerOperation;
+    private final long garbageCollections;
+    private final long garbageCollectionMillis;
+
+    /**
+     * Creates a new benchmark result.
+     *
+     * @param name                    the name of the workload
+     * @param nanosPerOperation       the mean time per operation in nanoseconds
+     * @param errorNanosPerOperation  the standard deviation of the time per operation between the iterations
+     * @param bytesPerOperation       the allocated bytes per operation
+     * @param garbageCollections      the number of garbage collections during the measurement
+     * @param garbageCollectionMillis the time of the garbage collections in milliseconds
+     */
+    public BenchmarkResult(String name, double nanosPerOperation, double errorNanosPerOperation,
+                           double bytesPerOperation, long garbageCollections, long garbageCollectionMillis) {
+        this.name = name;
+        this.nanosPerOperation = nanosPerOperation;
+        this.errorNanosPerOperation = errorNanosPerOperation;
+        this.bytesPerOperation = bytesPerOperation;
+        this.garbageCollections = garbageCollections;
+        this.garbageCollectionMillis = garbageCollectionMillis;
+    }
+
+    /**
+     * Returns the name of the workload.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the mean time per operation.
+     *
+     * @return the time per operation in nanoseconds
+     */
+    public double getNanosPerOperation() {
+        return nanosPerOperation;
+    }
+
+    /**
+     * Returns the allocated memory per operation.
+     *
+     * @return the allocated bytes per operation - or a negative number if it could not be measured
+     */
+    public double getBytesPerOperation() {
+        return bytesPerOperation;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%-28s %12.1f ns/op  +- %8.1f  %10.1f B/op  %4d gc  %5d ms gc",
+                name, nanosPerOperation, errorNanosPerOperation, bytesPerOperation,
+                garbageCollections, garbageCollectionMillis);
+    }
+}
@@ -0,0 +1,177 @@
+package benchmark;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * The benchmark runner measures workloads without any dependencies, similar to a JMH benchmark
+ * with the GC profiler.
+ *
+ * Each workload is run in a number of warmup iterations first, so that it gets compiled, and then in the
+ * measured iterations. The allocated memory is taken from the thread MX bean of the current thread,
+ * the garbage collections from the garbage collector MX beans. Everything that the workloads print
+ * to the standard output is discarded while they run.
+ *
+ * @author Moritz
+ * @version 1.0
+ */
+public class BenchmarkRunner {
+
+    /**
+     * The default number of warmup iterations.
+     */
+    public static final int DEFAULT_WARMUP_ITERATIONS = 5;
+
+    /**
+     * The default number of measured iterations.
+     */
+    public static final int DEFAULT_MEASUREMENT_ITERATIONS = 10;
+
+    /**
+     * The default duration of an iteration in milliseconds.
+     */
+    public static final int DEFAULT_ITERATION_MILLIS = 200;
+
+    private static final long NANOS_PER_MILLI = 1_000_000;
+
+    // the time between two looks at the clock, so that reading the clock does not dominate short operations
+    private static final long NANOS_PER_BATCH = 100_000;
+
+    private static final PrintStream DISCARD = new PrintStream(OutputStream.nullOutputStream());
+
+    // the results of the workloads end up here, so that they cannot be optimized away
+    private static volatile int sink;
+
+    private final int warmupIterations;
+    private final int measurementIterations;
+    private final long iterationNanos;
+    private final com.sun.management.ThreadMXBean allocationBean;
+
+    /**
+     * Creates a new benchmark runner with the default number and duration of iterations.
+     */
+    public BenchmarkRunner() {
+        this(DEFAULT_WARMUP_ITERATIONS, DEFAULT_MEASUREMENT_ITERATIONS, DEFAULT_ITERATION_MILLIS);
+    }
+
+    /**
+     * Creates a new benchmark runner.
+     *
+     * @param warmupIterations      the number of warmup iterations
+     * @param measurementIterations the number of measured iterations
+     * @param iterationMillis       the duration of an iteration in milliseconds
+     */
+    public BenchmarkRunner(int warmupIterations, int measurementIterations, int iterationMillis) {
+        this.warmupIterations = warmupIterations;
+        this.measurementIterations = measurementIterations;
+        this.iterationNanos = iterationMillis * NANOS_PER_MILLI;
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        if (threadBean instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) threadBean).isThreadAllocatedMemorySupported()) {
+            this.allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+            allocationBean.setThreadAllocatedMemoryEnabled(true);
+        } else {
+            this.allocationBean = null;
+        }
+    }
+
+    /**
+     * Measures the given workload.
+     *
+     * @param name     the name of the workload
+     * @param workload the workload
+     * @return the result of the measurement
+     * @throws Exception if the workload failed
+     */
+    public BenchmarkResult run(String name, Workload workload) throws Exception {
+        PrintStream out = System.out;
+        System.setOut(DISCARD);
+        try {
+            long batchSize = 1;
+            for (int i = 0; i < warmupIterations; i++) {
+                long[] iteration = runIteration(workload, batchSize);
+                // choose the batch size so that a batch takes about NANOS_PER_BATCH
+                batchSize = Math.max(1, NANOS_PER_BATCH * iteration[0] / Math.max(1, iteration[1]));
+            }
+
+            double[] nanosPerOperation = new double[measurementIterations];
+            long operations = 0;
+            long allocatedBefore = getAllocatedBytes();
+            long collectionsBefore = getGarbageCollections();
+            long collectionMillisBefore = getGarbageCollectionMillis();
+            for (int i = 0; i < measurementIterations; i++) {
+                long[] iteration = runIteration(workload, batchSize);
+                operations += iteration[0];
+                nanosPerOperation[i] = iteration[1] / (double) iteration[0];
+            }
+            long allocated = getAllocatedBytes() - allocatedBefore;
+            double bytesPerOperation = allocationBean == null ? -1 : allocated / (double) operations;
+            return new BenchmarkResult(name, mean(nanosPerOperation), standardDeviation(nanosPerOperation),
+                    bytesPerOperation, getGarbageCollections() - collectionsBefore,
+                    getGarbageCollectionMillis() - collectionMillisBefore);
+        } finally {
+            System.setOut(out);
+        }
+    }
+
+    // runs batches of the workload until the iteration time is over.
+    // returns the number of operations and the elapsed nanoseconds
+    private long[] runIteration(Workload workload, long batchSize) throws Exception {
+        int result = 0;
+        long operations = 0;
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            for (long i = 0; i < batchSize; i++) {
+                result ^= workload.run();
+            }
+            operations += batchSize;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < iterationNanos);
+        sink ^= result;
+        return new long[] {operations, elapsed};
+    }
+
+    private long getAllocatedBytes() {
+        return allocationBean == null ? 0 : allocationBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static long getGarbageCollections() {
+        long collections = 0;
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            collections += Math.max(0, bean.getCollectionCount());
+        }
+        return collections;
+    }
+
+    private static long getGarbageCollectionMillis() {
+        long millis = 0;
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            millis += Math.max(0, bean.getCollectionTime());
+        }
+        return millis;
+    }
+
+    private static double mean(double[] values) {
+        double sum = 0;
+        for (double value : values) {
+            sum += value;
+        }
+        return sum / values.length;
+    }
+
+    private static double standardDeviation(double[] values) {
+        if (values.length < 2) {
+            return 0;
+        }
+        double mean = mean(values);
+        double sum = 0;
+        for (double value : values) {
+            sum += (value - mean) * (value - mean);
+        }
+        return Math.sqrt(sum / (values.length - 1));
+    }
+}
@@ -0,0 +1,324 @@
+package benchmark;
+
+import controller.CardGameManager;
+import controller.Deck;
+import controller.dice.BatchDiceSource;
+import edu.kit.informatik.Terminal;
+import model.BuildableObject;
+import model.CardType;
+import model.GameState;
+import view.cli.CardGameCommand;
+import view.cli.CommandLineInterface;
+import view.cli.ParsedCommand;
+import view.io.OutputSink;
+import view.metrics.CommandMetrics;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static model.CardType.AMOUNT_OF_CARDS;
+import static model.CardType.AMOUNT_OF_CARD_TYPES;
+
+/**
+ * The benchmarks of the card game: drawing, building, rolling the dice, resetting,
+ * parsing the start command and the dispatch of the command line interface.
+ *
+ * The results can be saved to a file and compared against such a baseline later. A workload is
+ * reported as a regression if it takes more than {@value #ALLOWED_SLOWDOWN_PERCENT}% more time or
+ * allocates more than {@value #ALLOWED_SLOWDOWN_PERCENT}% more memory per operation than in the baseline.
+ *
+ * The same workloads are run by the JMH benchmarks of the jmh module, which report their allocations with
+ * the GC profiler. This runner is the fallback where the JMH module cannot be built, as it needs no
+ * dependencies.
+ *
+ * @author Moritz
+ * @version 1.0
+ */
+public final class CardGameBenchmarks {
+
+    private static final int ALLOWED_SLOWDOWN_PERCENT = 10;
+
+    private static final double PERCENT = 100.0;
+
+    // allocations below this are noise of the measurement, e.g. the result arrays of the runner
+    private static final double ALLOCATION_NOISE_BYTES = 8;
+
+    private static final long SEED = 42;
+
+    // the resources for a shack, a club, an axe and a fireplace in this order
+    private static final String[] BUILD_PREFIX = {
+        CardType.WOOD, CardType.WOOD, CardType.WOOD, CardType.WOOD, CardType.WOOD, CardType.WOOD,
+        CardType.WOOD, CardType.WOOD, CardType.METAL, CardType.METAL, CardType.METAL, CardType.METAL,
+        CardType.METAL, CardType.PLASTIC, CardType.PLASTIC};
+
+    private static final String DECK = createDeck(BUILD_PREFIX);
+
+    private static final String START = "start " + DECK;
+
+    // a short game on the command line, from the start of the deck
+    private static final String[] SCRIPT = createScript();
+
+    private CardGameBenchmarks() {
+    }
+
+    /**
+     * Creates all workloads by name.
+     *
+     * @return the workloads
+     * @throws Exception if a workload cannot be set up
+     */
+    public static Map<String, Workload> createWorkloads() throws Exception {
+        Map<String, Workload> workloads = new LinkedHashMap<>();
+        workloads.put("reset", reset());
+        workloads.put("draw.fullDeck", drawFullDeck());
+        workloads.put("draw.buildPrefix", drawBuildPrefix());
+        workloads.put("build.withoutShack", build(BuildableObject.CLUB, BuildableObject.AXE,
+                BuildableObject.FIREPLACE));
+        workloads.put("build.withShack", build(BuildableObject.SHACK, BuildableObject.CLUB,
+                BuildableObject.AXE, BuildableObject.FIREPLACE));
+        workloads.put("allBuildableObjects", allBuildableObjects());
+        workloads.put("parse.start64", parseStart());
+        workloads.put("execute.start64", executeStart());
+        workloads.put("cli.dispatch", dispatch());
+        return workloads;
+    }
+
+    private static Workload reset() throws Exception {
+        CardGameManager backend = startedBackend();
+        return () -> {
+            backend.reset();
+            return backend.getGameState().ordinal();
+        };
+    }
+
+    // draws the whole deck, encounters are resolved with auto-rolled dice
+    private static Workload drawFullDeck() throws Exception {
+        CardGameManager backend = startedBackend();
+        return () -> {
+            backend.reset();
+            int result = 0;
+            for (int i = 0; i < AMOUNT_OF_CARDS; i++) {
+                result += backend.draw().getTypeID();
+                if (backend.getGameState() == GameState.ENCOUNTER) {
+                    result += backend.rollDice().ordinal();
+                } else {
+                    backend.setGameState(backend.getGameState().resolve());
+                }
+            }
+            return result;
+        };
+    }
+
+    // the draws of the build workloads on their own, so that they can be subtracted
+    private static Workload drawBuildPrefix() throws Exception {
+        CardGameManager backend = startedBackend();
+        return () -> {
+            drawBuildPrefix(backend);
+            return backend.getResourcesAsList().size();
+        };
+    }
+
+    private static Workload build(BuildableObject... buildableObjects) throws Exception {
+        CardGameManager backend = startedBackend();
+        return () -> {
+            drawBuildPrefix(backend);
+            for (BuildableObject buildableObject : buildableObjects) {
+                backend.build(buildableObject);
+            }
+            return backend.getGameState().ordinal();
+        };
+    }
+
+    private static Workload allBuildableObjects() throws Exception {
+        CardGameManager backend = startedBackend();
+        drawBuildPrefix(backend);
+        return () -> backend.getAllBuildableObjectsAsList().size();
+    }
+
+    private static Workload parseStart() {
+        return () -> {
+            ParsedCommand parsedCommand = CardGameCommand.getCommandByInput(START).parseInput(START);
+            return parsedCommand.getCards().length;
+        };
+    }
+
+    // the deck is taken from the deck cache after the first start
+    private static Workload executeStart() {
+        CardGameManager backend = new CardGameManager();
+        CommandLineInterface frontend = new CommandLineInterface(backend, new CommandMetrics(), new DiscardingSink());
+        return () -> {
+            backend.setGameState(GameState.END);
+            CardGameCommand.getCommandByInput(START).parseInput(START).execute(frontend, backend);
+            return backend.getGameState().ordinal();
+        };
+    }
+
+    private static Workload dispatch() throws Exception {
+        CommandLineInterface frontend = new CommandLineInterface(startedBackend(), new CommandMetrics(),
+                new DiscardingSink());
+        return () -> {
+            for (String line : SCRIPT) {
+                frontend.execute(line);
+            }
+            return SCRIPT.length;
+        };
+    }
+
+    private static CardGameManager startedBackend() throws Exception {
+        CardGameManager backend = new CardGameManager();
+        backend.setDiceSource(new BatchDiceSource(SEED));
+        backend.start(Deck.parse(DECK));
+        return backend;
+    }
+
+    private static void drawBuildPrefix(CardGameManager backend) throws Exception {
+        backend.reset();
+        for (int i = 0; i < BUILD_PREFIX.length; i++) {
+            backend.draw();
+        }
+    }
+
+    // the given cards first, then the remaining cards of each type in turn
+    private static String createDeck(String... prefix) {
+        int[] remaining = new int[AMOUNT_OF_CARD_TYPES];
+        for (int typeID = 0; typeID < AMOUNT_OF_CARD_TYPES; typeID++) {
+            remaining[typeID] = Deck.getRequiredAmount(typeID);
+        }
+        StringBuilder deck = new StringBuilder();
+        for (String card : prefix) {
+            remaining[CardType.createCardByStringValue(card).getTypeID()]--;
+            deck.append(card).append(',');
+        }
+        boolean added = true;
+        while (added) {
+            added = false;
+            for (int typeID = 0; typeID < AMOUNT_OF_CARD_TYPES; typeID++) {
+                if (remaining[typeID] > 0) {
+                    remaining[typeID]--;
+                    deck.append(CardType.getCardByTypeID(typeID).getTypeAsString()).append(',');
+                    added = true;
+                }
+            }
+        }
+        deck.setLength(deck.length() - 1);
+        return deck.toString();
+    }
+
+    private static String[] createScript() {
+        List<String> script = new ArrayList<>();
+        script.add("reset");
+        for (int i = 0; i < BUILD_PREFIX.length; i++) {
+            script.add("draw");
+        }
+        script.add("build?");
+        script.add("build club");
+        script.add("list-buildings");
+        script.add("list-resources");
+        return script.toArray(new String[0]);
+    }
+
+    /**
+     * Runs the benchmarks and prints the results.
+     *
+     * @param args optionally "--save &lt;file&gt;" to save the results, "--baseline &lt;file&gt;" to compare
+     *             them with saved results and a prefix of the names of the workloads to run
+     * @throws Exception if a workload failed
+     */
+    public static void main(String[] args) throws Exception {
+        String savePath = null;
+        String baselinePath = null;
+        String filter = "";
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--save") && i + 1 < args.length) {
+                savePath = args[++i];
+            } else if (args[i].equals("--baseline") && i + 1 < args.length) {
+                baselinePath = args[++i];
+            } else {
+                filter = args[i];
+            }
+        }
+        Map<String, double[]> baseline = baselinePath == null ? null : readBaseline(baselinePath);
+
+        BenchmarkRunner runner = new BenchmarkRunner();
+        List<BenchmarkResult> results = new ArrayList<>();
+        int regressions = 0;
+        for (Map.Entry<String, Workload> entry : createWorkloads().entrySet()) {
+            if (!entry.getKey().startsWith(filter)) {
+                continue;
+            }
+            BenchmarkResult result = runner.run(entry.getKey(), entry.getValue());
+            results.add(result);
+            Terminal.printLine(result);
+            if (baseline != null && baseline.containsKey(result.getName())
+                    && compare(result, baseline.get(result.getName()))) {
+                regressions++;
+            }
+        }
+        if (savePath != null) {
+            saveResults(savePath, results);
+        }
+        if (baseline != null) {
+            Terminal.printLine(regressions + " regressions");
+        }
+    }
+
+    // prints the comparison with the baseline, returns true if the result is a regression
+    private static boolean compare(BenchmarkResult result, double[] baseline) {
+        double timeChange = PERCENT * (result.getNanosPerOperation() / baseline[0] - 1);
+        double allocationIncrease = result.getBytesPerOperation() - baseline[1];
+        boolean slower = timeChange > ALLOWED_SLOWDOWN_PERCENT;
+        boolean allocates = allocationIncrease > ALLOCATION_NOISE_BYTES
+                && allocationIncrease > baseline[1] * ALLOWED_SLOWDOWN_PERCENT / PERCENT;
+        Terminal.printLine(String.format(Locale.ROOT, "  vs baseline: %+.1f%% time, %+.1f B/op%s",
+                timeChange, allocationIncrease, slower || allocates ? "  REGRESSION" : ""));
+        return slower || allocates;
+    }
+
+    private static Map<String, double[]> readBaseline(String path) {
+        Map<String, double[]> baseline = new LinkedHashMap<>();
+        for (String line : Terminal.readFile(path)) {
+            String[] fields = line.trim().split("\\s+");
+            if (fields.length == 3) {
+                baseline.put(fields[0], new double[] {Double.parseDouble(fields[1]), Double.parseDouble(fields[2])});
+            }
+        }
+        return baseline;
+    }
+
+    private static void saveResults(String path, List<BenchmarkResult> results) throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (BenchmarkResult result : results) {
+            lines.add(String.format(Locale.ROOT, "%s %.3f %.3f",
+                    result.getName(), result.getNanosPerOperation(), result.getBytesPerOperation()));
+        }
+        Files.write(Paths.get(path), lines);
+    }
+
+    /**
+     * The output of the command line workloads, which discards the lines, so that the time of printing
+     * them is not measured.
+     */
+    private static final class DiscardingSink implements OutputSink {
+
+        @Override
+        public void printLine(String line) {
+            // the lines are not needed
+        }
+
+        @Override
+        public void printError(String message) {
+            // the lines are not needed
+        }
+
+        @Override
+        public void flush() {
+            // nothing is held back
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package benchmark;
+
+/**
+ * Defines the method signature of a benchmarked workload.
+ * The state of a workload is set up when it is created, so that only the operation itself is measured.
+ *
+ * @author Moritz
+ * @version 1.0
+ * @see BenchmarkRunner
+ */
+@FunctionalInterface
+public interface Workload {
+
+    /**
+     * Runs one operation of the workload.
+     *
+     * @return any value that depends on the result, so that the operation cannot be optimized away
+     * @throws Exception if the operation failed
+     */
+    int run() throws Exception;
+}
@@ -1,5 +1,6 @@
 package controller;
 
+import controller.dice.DiceSource;
 import model.BuildableObject;
 import model.Card;
 import model.GameState;
@@ -34,6 +35,15 @@ public interface Backend {
      */
     void start(List<Card> cards) throws CardStackException, IllegalGameStateException;
 
+    /**
+     * Starts the game with an already validated deck.
+     *
+     * @param deck the deck
+     * @throws IllegalGameStateException if this command is currently not allowed
+     * @see DeckCache
+     */
+    void start(Deck deck) throws IllegalGameStateException;
+
     /**
      * Draws the next card from the card stack.
      *
@@ -71,6 +81,33 @@ public interface Backend {
      */
     GameState rollDice(int numOfPips, int roll) throws IllegalGameStateException, RollDiceException;
 
+    /**
+     * Rolls the required dice with the dice source of this backend and evaluates it.
+     * This is the auto-roll mode, the roll is not given by the player.
+     *
+     * @return the resulting game state
+     * @throws IllegalGameStateException if rolling the dice is not allowed
+     * @throws RollDiceException         if the dice source rolled an invalid number
+     * @see #setDiceSource(DiceSource)
+     */
+    GameState rollDice() throws IllegalGameStateException, RollDiceException;
+
+    /**
+     * Returns the number of pips of the dice that has to be rolled next,
+     * which depends on the animal or the rescue of the current game state.
+     *
+     * @return the required number of pips
+     * @throws IllegalGameStateException if rolling the dice is not allowed
+     */
+    int getRequiredNumOfPips() throws IllegalGameStateException;
+
+    /**
+     * Sets the dice source for the auto-roll mode.
+     *
+     * @param diceSource the new dice source
+     */
+    void setDiceSource(DiceSource diceSource);
+
     /**
      * Returns all resources as a list.
      *
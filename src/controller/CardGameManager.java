@@ -1,11 +1,16 @@
 package controller;
 
-import model.Buildable;
+import controller.dice.DiceSource;
+import controller.dice.RandomDiceSource;
+import controller.events.CardDrawEvent;
+import controller.events.DiceRollEvent;
+import controller.events.GameEvents;
+import controller.events.SessionEvent;
 import model.BuildableObject;
 import model.Card;
+import model.CardType;
+import model.GameRules;
 import model.GameState;
-import model.buildables.rescue.Rescue;
-import model.cards.animals.Animal;
 import model.cards.resources.Resource;
 import model.exceptions.CardStackException;
 import model.exceptions.IllegalGameStateException;
@@ -20,38 +25,58 @@ import static model.GameState.END;
 import static model.GameState.ENDEAVOR;
 import static model.GameState.INVALID;
 import static model.GameState.SCAVENGE;
-import static model.GameState.WIN;
 
 /**
  * This class manages the card game.
  * Consists of a {@link Scavenger} and a {@link CardHolder}.
  *
+ * The start, reset, draw and dice roll are recorded as flight recorder events, see {@link controller.events}.
+ * The events are only committed while a recording is running.
+ *
  * @author Moritz
  * @version 1.0
  */
 public class CardGameManager implements Backend {
 
+    // exceptions without a stack trace can be shared by all games
+    private static final IllegalGameStateException NOT_INITIALIZED
+            = new IllegalGameStateException("game has to be started first.");
+    private static final IllegalGameStateException ROLL_DICE_NOT_ALLOWED
+            = new IllegalGameStateException("roll dice command is not allowed right now.");
+
     private GameState gameState;
     private CardHolder cardHolder;
-    private Scavenger scavenger;
+    private final Scavenger scavenger;
+    private DiceSource diceSource;
 
     /**
      * Creates a new card game manager.
+     * The dice of the auto-roll mode are rolled by an unseeded {@link RandomDiceSource}.
      */
     public CardGameManager() {
         this.gameState = INVALID;
         this.cardHolder = new CardHolder();
         this.scavenger = new Scavenger();
-
+        this.diceSource = new RandomDiceSource(System.nanoTime());
     }
 
     @Override
     public void start(List<Card> cards) throws CardStackException, IllegalGameStateException {
         this.gameState.checkGameState(CardGameCommand.START);
-        cardHolder.initializeCardStack(cards);
-        setGameState(SCAVENGE);
+        start(new Deck(cards));
+    }
+
+    @Override
+    public void start(Deck deck) throws IllegalGameStateException {
+        this.gameState.checkGameState(CardGameCommand.START);
+        SessionEvent event = GameEvents.isRecorded(SessionEvent.class) ? GameEvents.begin(new SessionEvent()) : null;
+        cardHolder.initializeCardStack(deck);
         // reset in case of start command after Win
-        reset();
+        resetGame();
+        if (GameEvents.end(event)) {
+            event.setAction(SessionEvent.START);
+            event.commit();
+        }
     }
 
     @Override
@@ -63,11 +88,17 @@ public class CardGameManager implements Backend {
         if (!cardHolder.hasCards() || noActionPossible()) {
             return null;
         }
-        Card card = cardHolder.getNextCard();
-        scavenger.checkForResource(card);
-        setGameState(card.takeAction());
+        CardDrawEvent event = GameEvents.isRecorded(CardDrawEvent.class) ? GameEvents.begin(new CardDrawEvent()) : null;
+        int typeID = cardHolder.drawNextTypeID();
+        scavenger.checkForResource(typeID);
+        setGameState(GameRules.getStateAfterDraw(typeID));
         scavenger.updateResources(gameState);
-        return card;
+        if (GameEvents.end(event)) {
+            event.setTypeID(typeID);
+            event.setGameState(gameState.name());
+            event.commit();
+        }
+        return CardType.getCardByTypeID(typeID);
     }
 
     @Override
@@ -75,68 +106,102 @@ public class CardGameManager implements Backend {
         checkInitialized();
         gameState.checkGameState(CardGameCommand.BUILD);
         // tries to built the object, an error gets thrown if it cannot be built
-        Buildable builtObject = scavenger.build(buildableObject);
+        GameState stateAfterBuild = scavenger.build(buildableObject);
 
         // update game state
-        setGameState(builtObject.takeAction());
+        setGameState(stateAfterBuild);
     }
 
     @Override
     public void reset() throws IllegalGameStateException {
         checkInitialized();
+        SessionEvent event = GameEvents.isRecorded(SessionEvent.class) ? GameEvents.begin(new SessionEvent()) : null;
+        resetGame();
+        if (GameEvents.end(event)) {
+            event.setAction(SessionEvent.RESET);
+            event.commit();
+        }
+    }
+
+    // resets the card stack and the scavenger, used by the start and the reset command
+    private void resetGame() {
         cardHolder.reset();
-        this.scavenger = new Scavenger();
+        // the scavenger is cleared in place, so that a reset does not allocate anything
+        scavenger.clear();
         setGameState(SCAVENGE);
     }
 
     @Override
     public GameState rollDice(int numOfPips, int roll) throws IllegalGameStateException, RollDiceException {
         checkInitialized();
+        DiceRollEvent event = GameEvents.isRecorded(DiceRollEvent.class) ? GameEvents.begin(new DiceRollEvent()) : null;
         GameState result;
         switch (gameState) {
             case ENDEAVOR:
-                // it is secure to down cast to rescue, because the last
-                // built object has to be a rescue in this case
-                Rescue rescue = (Rescue) scavenger.getLastBuiltObject().getAccordingBuildable();
-                result = checkEndeavor(rescue, numOfPips, roll);
-                if (result == WIN) {
-                    // update the game state accordingly
-                    setGameState(END);
-                } else {
-                    setGameState(SCAVENGE);
-                }
+                // the last built object has to be a rescue in this case
+                result = checkEndeavor(scavenger.getLastBuiltObject().ordinal(), numOfPips, roll);
+                // update the game state accordingly, a win ends the game
+                setGameState(result.resolve());
                 break;
             case ENCOUNTER:
                 // last card has to be an animal
-                Animal animalCard = (Animal) cardHolder.getLastDrawnCard();
-                result = checkEncounter(animalCard, numOfPips, roll);
+                result = checkEncounter(cardHolder.getLastDrawnTypeID(), numOfPips, roll);
                 scavenger.updateResources(result);
-                setGameState(SCAVENGE);
+                setGameState(result.resolve());
                 break;
             default:
-                throw new IllegalGameStateException("roll dice command is not allowed right now.");
+                throw ROLL_DICE_NOT_ALLOWED;
+        }
+        if (GameEvents.end(event)) {
+            event.setRoll(numOfPips, roll);
+            event.setResult(result.name());
+            event.commit();
         }
         return result;
     }
 
+    @Override
+    public GameState rollDice() throws IllegalGameStateException, RollDiceException {
+        int numOfPips = getRequiredNumOfPips();
+        return rollDice(numOfPips, diceSource.roll(numOfPips));
+    }
+
+    @Override
+    public int getRequiredNumOfPips() throws IllegalGameStateException {
+        checkInitialized();
+        switch (gameState) {
+            case ENDEAVOR:
+                return GameRules.getRescuePips(scavenger.getLastBuiltObject().ordinal());
+            case ENCOUNTER:
+                return GameRules.getAnimalPips(cardHolder.getLastDrawnTypeID());
+            default:
+                throw ROLL_DICE_NOT_ALLOWED;
+        }
+    }
+
+    @Override
+    public void setDiceSource(DiceSource diceSource) {
+        this.diceSource = diceSource;
+    }
+
     /**
      * Gets executed if the game is in the endeavor game state, meaning the player built a rescue object.
      *
-     * @param rescue    the built rescue object
-     * @param numOfPips the number of pips that player chose
-     * @param roll      the rolled number
+     * @param rescueOrdinal the ordinal of the built rescue object
+     * @param numOfPips     the number of pips that player chose
+     * @param roll          the rolled number
      * @return the resulting game state
      * @throws RollDiceException if the player chose the wrong dice.
      */
-    private GameState checkEndeavor(Rescue rescue, int numOfPips, int roll) throws RollDiceException {
-        int requiredNumOfPips = rescue.getRequiredNumOfPips();
+    private GameState checkEndeavor(int rescueOrdinal, int numOfPips, int roll) throws RollDiceException {
+        int requiredNumOfPips = GameRules.getRescuePips(rescueOrdinal);
         if (requiredNumOfPips != numOfPips
             || roll > numOfPips
             || roll == 0) {
             throw new RollDiceException(requiredNumOfPips, roll);
         }
 
-        int minimumWinNumber = rescue.getMinimumNumberForWin();
+        int minimumWinNumber = GameRules.getRescueMinimumRoll(rescueOrdinal);
         if (roll >= minimumWinNumber) {
             return GameState.WIN;
         } else {
@@ -148,22 +213,22 @@ public class CardGameManager implements Backend {
      * Gets executed if the game is in the encounter game state, meaning the player has
      * to fight against an animal
      *
-     * @param animalCard the animal that the player fights against
-     * @param numOfPips  the number of pips (the dice) which the player chose
-     * @param roll       the rolled number
+     * @param animalTypeID the type ID of the animal that the player fights against
+     * @param numOfPips    the number of pips (the dice) which the player chose
+     * @param roll         the rolled number
      * @return the resulting game state
      * @throws RollDiceException if the player chose the wrong dice.
      */
-    private GameState checkEncounter(Animal animalCard, int numOfPips, int roll)
+    private GameState checkEncounter(int animalTypeID, int numOfPips, int roll)
             throws RollDiceException {
-        int requiredNumOfPips = animalCard.getRequiredNumOfPips();
+        int requiredNumOfPips = GameRules.getAnimalPips(animalTypeID);
         if (requiredNumOfPips != numOfPips
             || roll > numOfPips
             || roll == 0) {
             throw new RollDiceException(requiredNumOfPips, roll);
         }
 
-        int minimumWinNumber = animalCard.getMinimumNumberRolledForWin();
+        int minimumWinNumber = GameRules.getAnimalMinimumRoll(animalTypeID);
         if ((roll + scavenger.getFightBonus()) >= minimumWinNumber) {
             return GameState.SURVIVED;
         } else {
@@ -185,7 +250,7 @@ public class CardGameManager implements Backend {
     @Override
     public void checkInitialized() throws IllegalGameStateException {
         if (gameState == INVALID) {
-            throw new IllegalGameStateException("game has to be started first.");
+            throw NOT_INITIALIZED;
         }
     }
 
@@ -223,6 +288,15 @@ public class CardGameManager implements Backend {
         return scavenger.getAllBuiltObjectsAsList();
     }
 
+    // used by the solver to look up the current state of the game
+    Scavenger getScavenger() {
+        return scavenger;
+    }
+
+    CardHolder getCardHolder() {
+        return cardHolder;
+    }
+
     @Override
     public GameState getGameState() {
         return this.gameState;
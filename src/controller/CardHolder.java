@@ -1,20 +1,5 @@
 package controller;
 
-import model.Card;
-import model.CardType;
-import model.exceptions.CardStackException;
-
-import java.util.LinkedList;
-import java.util.List;
-
-import static model.Card.METAL_TYPE_ID;
-import static model.Card.PLASTIC_TYPE_ID;
-import static model.Card.SNAKE_TYPE_ID;
-import static model.Card.SPIDER_TYPE_ID;
-import static model.Card.THUNDERSTORM_TYPE_ID;
-import static model.Card.TIGER_TYPE_ID;
-import static model.Card.WOOD_TYPE_ID;
-
 /**
  * This class holds all cards and manages the interactions of drawing cards
  *
@@ -23,34 +8,27 @@ import static model.Card.WOOD_TYPE_ID;
  */
 public class CardHolder {
 
-    private LinkedList<Card> backupStack;
+    private Deck deck;
 
-    // the top-most card is the first in this list.
-    private LinkedList<Card> cardStack;
-
-    private Card lastDrawnCard;
+    // the position of the next card in the deck.
+    // every card in front of it has already been drawn
+    private int nextCardIndex;
 
     /**
      * Creates a new card holder.
      */
     public CardHolder() {
-        this.backupStack = null;
-        this.cardStack = null;
-        this.lastDrawnCard = null;
+        this.deck = null;
+        this.nextCardIndex = 0;
     }
 
     /**
-     * Returns the next card of the card stack.
+     * Draws the next card of the card stack. The caller has to make sure that there are cards left.
      *
-     * @return the drawn card
+     * @return the type ID of the drawn card
      */
-    Card getNextCard() {
-        if (cardStack.isEmpty()) {
-            return null;
-        }
-        Card next = cardStack.removeFirst();
-        lastDrawnCard = next;
-        return next;
+    int drawNextTypeID() {
+        return deck.getTypeID(nextCardIndex++);
     }
 
     /**
@@ -59,67 +37,42 @@ public class CardHolder {
      * @return true if there are still cards on the stack
      */
     protected boolean hasCards() {
-        return !cardStack.isEmpty();
+        return nextCardIndex < deck.size();
     }
 
     /**
-     * Initializes the card and backup stack.
-     * Checks if the number of cards is correct (64 in total)
+     * Returns the number of cards that have been drawn since the last reset.
      *
-     * @param cards all cards as a list
-     * @throws CardStackException if number of cards is incorrect
+     * @return the number of drawn cards
      */
-    void initializeCardStack(List<Card> cards) throws CardStackException {
-        // initialize backup stack and card stack
-        this.backupStack = new LinkedList<>();
-        this.cardStack = new LinkedList<>();
-
-        // check for the right amount of cards
-        int[] checkAmount = new int[CardType.AMOUNT_OF_CARD_TYPES];
-        for (Card card : cards) {
-            checkAmount[card.getTypeID()]++;
-            cardStack.addLast(card);
-            backupStack.addLast(card);
-        }
-        if (!checkCardAmount(checkAmount)) {
-            throw new CardStackException("invalid number of cards");
-        }
+    int getNumberOfDrawnCards() {
+        return nextCardIndex;
     }
 
     /**
-     * Accepts an array of integers. The index in this array represents the card type ID.
-     * If a number is not the specified amount, then false is returned.
+     * Initializes the card stack with the given deck.
      *
-     * @param checkAmount an array of integers
-     * @return true if the amount of each card is correct
+     * @param deck the validated deck
      */
-    private boolean checkCardAmount(int[] checkAmount) {
-        return !(checkAmount[WOOD_TYPE_ID] != CardType.AMOUNT_OF_EACH_RESOURCE
-                || checkAmount[METAL_TYPE_ID] != CardType.AMOUNT_OF_EACH_RESOURCE
-                || checkAmount[PLASTIC_TYPE_ID] != CardType.AMOUNT_OF_EACH_RESOURCE
-                || checkAmount[SPIDER_TYPE_ID] != CardType.AMOUNT_OF_EACH_ANIMAL
-                || checkAmount[SNAKE_TYPE_ID] != CardType.AMOUNT_OF_EACH_ANIMAL
-                || checkAmount[TIGER_TYPE_ID] != CardType.AMOUNT_OF_EACH_ANIMAL
-                || checkAmount[THUNDERSTORM_TYPE_ID] != CardType.AMOUNT_OF_EACH_CATASTROPHE);
+    void initializeCardStack(Deck deck) {
+        this.deck = deck;
+        this.nextCardIndex = 0;
     }
 
     /**
-     * Gets the last drawn card.
+     * Returns the type ID of the last drawn card. At least one card has to be drawn.
      *
-     * @return the last drawn card
+     * @return the type ID of the last drawn card
      */
-    protected Card getLastDrawnCard() {
-        return lastDrawnCard;
+    int getLastDrawnTypeID() {
+        return deck.getTypeID(nextCardIndex - 1);
     }
 
     /**
      * Resets the card stack to the state when it was first set up with cards.
      */
     void reset() {
-        this.cardStack = new LinkedList<>();
-        for (Card card : backupStack) {
-            this.cardStack.addLast(card);
-        }
-        this.lastDrawnCard = null;
+        // the deck itself never changes, so only the position has to be reset
+        this.nextCardIndex = 0;
     }
 }
@@ -0,0 +1,318 @@
+package controller;
+
+import model.Card;
+import model.CardType;
+import model.exceptions.CardStackException;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static model.Card.METAL_TYPE_ID;
+import static model.Card.PLASTIC_TYPE_ID;
+import static model.Card.SNAKE_TYPE_ID;
+import static model.Card.SPIDER_TYPE_ID;
+import static model.Card.THUNDERSTORM_TYPE_ID;
+import static model.Card.TIGER_TYPE_ID;
+import static model.Card.WOOD_TYPE_ID;
+
+/**
+ * A deck is the immutable sequence of cards that a game was started with.
+ *
+ * The cards are stored by their type ID in a byte array, the top-most card first.
+ * Since a deck never changes, it can be shared by all games that were started with the same cards.
+ * Two decks are equal if they have the same cards in the same order.
+ *
+ * @author Moritz
+ * @version 1.0
+ * @see DeckCache
+ */
+public final class Deck {
+
+    // separates the cards of a deck as a string
+    private static final char CARD_SEPARATOR = ',';
+
+    private static final String CANNOT_PARSE_CARDS = "cannot parse cards";
+
+    private final byte[] typeIDs;
+    private final int hashCode;
+
+    /**
+     * Creates a new deck with the given cards.
+     * Checks if the number of cards is correct (64 in total)
+     *
+     * @param cards the cards, the top-most card first
+     * @throws CardStackException if number of cards is incorrect
+     */
+    public Deck(List<Card> cards) throws CardStackException {
+        this(toTypeIDs(cards));
+    }
+
+    /**
+     * Creates a new deck with the given type IDs of cards.
+     * Checks if the number of cards is correct (64 in total)
+     *
+     * @param typeIDs the type IDs of the cards, the top-most card first.
+     *                The array is not copied and must not be changed afterwards.
+     * @throws CardStackException if number of cards is incorrect
+     */
+    public Deck(byte[] typeIDs) throws CardStackException {
+        this(typeIDs, countTypeIDs(typeIDs));
+    }
+
+    /**
+     * Creates a new deck with the given type IDs of cards, which have already been counted,
+     * e.g. while they were parsed. Checks if the number of cards is correct (64 in total)
+     *
+     * @param typeIDs         the type IDs of the cards, the top-most card first.
+     *                        The array is not copied and must not be changed afterwards.
+     * @param amountsByTypeID the amount of the cards of each type ID in typeIDs
+     * @throws CardStackException if number of cards is incorrect
+     */
+    public Deck(byte[] typeIDs, int[] amountsByTypeID) throws CardStackException {
+        if (!checkCardAmount(amountsByTypeID)) {
+            throw new CardStackException("invalid number of cards");
+        }
+        this.typeIDs = typeIDs;
+        this.hashCode = Arrays.hashCode(typeIDs);
+    }
+
+    /**
+     * Parses a deck from the given comma separated cards, e.g. an argument of a tool.
+     * The cards are scanned like those of a start command, see {@link #scanCards(CharSequence, int, int[])}.
+     *
+     * @param cardList the cards as a comma separated string, the top-most card first
+     * @return the deck
+     * @throws CardStackException if the cards cannot be parsed or the number of cards is incorrect
+     */
+    public static Deck parse(String cardList) throws CardStackException {
+        int[] amounts = new int[CardType.AMOUNT_OF_CARD_TYPES];
+        byte[] typeIDs = scanCards(cardList, 0, amounts);
+        if (typeIDs == null) {
+            // a card with other characters is no card either
+            throw new CardStackException(CANNOT_PARSE_CARDS);
+        }
+        return new Deck(typeIDs, amounts);
+    }
+
+    /**
+     * Scans comma separated cards in a single pass, without creating a string.
+     *
+     * Like the regex "[\w\s,]*", the cards may only consist of word characters, whitespace and commas.
+     * Each card is mapped to its type ID and counted in the same pass. Empty cards at the end are ignored,
+     * so a list of only commas has no cards, but an empty card in front of another card cannot be parsed.
+     * The syntax is checked up to the end even if a card cannot be parsed, because a syntax error is
+     * reported first. The number of cards is not checked.
+     *
+     * @param input           the input
+     * @param begin           the index of the first card in the input
+     * @param amountsByTypeID the array in which the cards of each type ID are counted
+     * @return the type IDs of the cards, the top-most card first - or null if the input contains other characters
+     * @throws CardStackException if a card cannot be parsed
+     */
+    public static byte[] scanCards(CharSequence input, int begin, int[] amountsByTypeID) throws CardStackException {
+        int length = input.length();
+        byte[] typeIDs = new byte[CardType.AMOUNT_OF_CARDS];
+        int numberOfCards = 0;
+        // an empty card is only allowed if no card follows it
+        boolean emptyCard = false;
+        boolean invalidCard = false;
+        int cardBegin = begin;
+        for (int i = begin; i <= length; i++) {
+            char character = i < length ? input.charAt(i) : CARD_SEPARATOR;
+            if (character != CARD_SEPARATOR) {
+                if (!isWordCharacter(character) && !isWhitespace(character)) {
+                    return null;
+                }
+                continue;
+            }
+            if (i == cardBegin) {
+                emptyCard = true;
+            } else if (!invalidCard) {
+                int typeID = emptyCard ? CardType.UNDEFINED_TYPE_ID
+                        : CardType.getTypeIDByStringValue(input, cardBegin, i);
+                if (typeID == CardType.UNDEFINED_TYPE_ID) {
+                    invalidCard = true;
+                } else {
+                    if (numberOfCards == typeIDs.length) {
+                        typeIDs = Arrays.copyOf(typeIDs, 2 * typeIDs.length);
+                    }
+                    typeIDs[numberOfCards++] = (byte) typeID;
+                    amountsByTypeID[typeID]++;
+                }
+            }
+            cardBegin = i + 1;
+        }
+        if (invalidCard) {
+            throw new CardStackException(CANNOT_PARSE_CARDS);
+        }
+        // only a list with the wrong number of cards has to be trimmed
+        return numberOfCards == typeIDs.length ? typeIDs : Arrays.copyOf(typeIDs, numberOfCards);
+    }
+
+    /**
+     * Creates a deck with the right amount of each card in a random order.
+     *
+     * @param random the random number generator that shuffles the cards
+     * @return the shuffled deck
+     */
+    public static Deck shuffled(SplittableRandom random) {
+        byte[] typeIDs = new byte[CardType.AMOUNT_OF_CARDS];
+        int[] amounts = new int[CardType.AMOUNT_OF_CARD_TYPES];
+        int index = 0;
+        for (int typeID = 0; typeID < CardType.AMOUNT_OF_CARD_TYPES; typeID++) {
+            amounts[typeID] = getRequiredAmount(typeID);
+            for (int i = 0; i < amounts[typeID]; i++) {
+                typeIDs[index++] = (byte) typeID;
+            }
+        }
+        for (int i = typeIDs.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            byte swap = typeIDs[i];
+            typeIDs[i] = typeIDs[j];
+            typeIDs[j] = swap;
+        }
+        try {
+            return new Deck(typeIDs, amounts);
+        } catch (CardStackException e) {
+            throw new IllegalStateException("a shuffled deck has the right amount of each card", e);
+        }
+    }
+
+    /**
+     * Returns the number of cards with the given type ID that a valid deck has.
+     *
+     * @param typeID the type ID, see {@link Card}
+     * @return the required amount of the cards
+     */
+    public static int getRequiredAmount(int typeID) {
+        switch (typeID) {
+            case WOOD_TYPE_ID:
+            case METAL_TYPE_ID:
+            case PLASTIC_TYPE_ID:
+                return CardType.AMOUNT_OF_EACH_RESOURCE;
+            case THUNDERSTORM_TYPE_ID:
+                return CardType.AMOUNT_OF_EACH_CATASTROPHE;
+            default:
+                return CardType.AMOUNT_OF_EACH_ANIMAL;
+        }
+    }
+
+    private static int[] countTypeIDs(byte[] typeIDs) {
+        int[] amounts = new int[CardType.AMOUNT_OF_CARD_TYPES];
+        for (byte typeID : typeIDs) {
+            amounts[typeID]++;
+        }
+        return amounts;
+    }
+
+    private static byte[] toTypeIDs(List<Card> cards) {
+        byte[] result = new byte[cards.size()];
+        int i = 0;
+        for (Card card : cards) {
+            result[i++] = (byte) card.getTypeID();
+        }
+        return result;
+    }
+
+    /**
+     * Accepts an array of integers. The index in this array represents the card type ID.
+     * If a number is not the specified amount, then false is returned.
+     *
+     * @param checkAmount an array of integers
+     * @return true if the amount of each card is correct
+     */
+    private static boolean checkCardAmount(int[] checkAmount) {
+        return !(checkAmount[WOOD_TYPE_ID] != CardType.AMOUNT_OF_EACH_RESOURCE
+                || checkAmount[METAL_TYPE_ID] != CardType.AMOUNT_OF_EACH_RESOURCE
+                || checkAmount[PLASTIC_TYPE_ID] != CardType.AMOUNT_OF_EACH_RESOURCE
+                || checkAmount[SPIDER_TYPE_ID] != CardType.AMOUNT_OF_EACH_ANIMAL
+                || checkAmount[SNAKE_TYPE_ID] != CardType.AMOUNT_OF_EACH_ANIMAL
+                || checkAmount[TIGER_TYPE_ID] != CardType.AMOUNT_OF_EACH_ANIMAL
+                || checkAmount[THUNDERSTORM_TYPE_ID] != CardType.AMOUNT_OF_EACH_CATASTROPHE);
+    }
+
+    /**
+     * Returns the card at the given position.
+     *
+     * @param index the position of the card, zero is the top-most card
+     * @return the card at this position
+     */
+    public Card getCard(int index) {
+        return CardType.getCardByTypeID(typeIDs[index]);
+    }
+
+    /**
+     * Returns the type ID of the card at the given position.
+     *
+     * @param index the position of the card, zero is the top-most card
+     * @return the type ID of the card at this position
+     */
+    public int getTypeID(int index) {
+        return typeIDs[index];
+    }
+
+    /**
+     * Returns the number of cards in this deck.
+     *
+     * @return the number of cards
+     */
+    public int size() {
+        return typeIDs.length;
+    }
+
+    /**
+     * Returns the cards of this deck as a comma separated string, which is the argument of the start command.
+     *
+     * @return the cards as a string
+     */
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder();
+        for (byte typeID : typeIDs) {
+            if (result.length() > 0) {
+                result.append(CARD_SEPARATOR);
+            }
+            result.append(CardType.getCardByTypeID(typeID).getTypeAsString());
+        }
+        return result.toString();
+    }
+
+    /**
+     * Returns true if this deck has exactly the given cards.
+     *
+     * @param otherTypeIDs the type IDs of the cards, the top-most card first
+     * @return true if the cards are the same
+     */
+    boolean hasTypeIDs(byte[] otherTypeIDs) {
+        return Arrays.equals(typeIDs, otherTypeIDs);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof Deck)) {
+            return false;
+        }
+        Deck deck = (Deck) other;
+        return hashCode == deck.hashCode && Arrays.equals(typeIDs, deck.typeIDs);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    // the characters of \w in a regex
+    private static boolean isWordCharacter(char character) {
+        return character >= 'a' && character <= 'z' || character >= 'A' && character <= 'Z'
+                || character >= '0' && character <= '9' || character == '_';
+    }
+
+    // the characters of \s in a regex
+    private static boolean isWhitespace(char character) {
+        return character == ' ' || character >= '\t' && character <= '\r';
+    }
+}
@@ -0,0 +1,124 @@
+package controller;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The deck cache interns decks by their cards, so that all games which are started with
+ * the same cards share one {@link Deck}.
+ *
+ * The cache holds a limited number of decks. If it is full, the least recently used deck is removed.
+ * A deck can be looked up by its type IDs, so that a repeated deck is neither created nor checked again.
+ * All methods are thread-safe.
+ *
+ * @author Moritz
+ * @version 1.0
+ */
+public final class DeckCache {
+
+    /**
+     * The default number of decks that a cache holds.
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private static final DeckCache SHARED_CACHE = new DeckCache(DEFAULT_CAPACITY);
+
+    private final Map<Deck, Deck> decks;
+    // the key of the lookups by type IDs, which is only used while the lock is held
+    private final LookupKey lookupKey;
+
+    /**
+     * Creates a new deck cache.
+     *
+     * @param capacity the maximum number of decks in this cache
+     */
+    public DeckCache(final int capacity) {
+        // access order, so that the eldest entry is the least recently used one
+        this.decks = new LinkedHashMap<Deck, Deck>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Deck, Deck> eldest) {
+                return size() > capacity;
+            }
+        };
+        this.lookupKey = new LookupKey();
+    }
+
+    /**
+     * Returns the deck cache that is shared by all games of this process.
+     *
+     * @return the shared deck cache
+     */
+    public static DeckCache getSharedCache() {
+        return SHARED_CACHE;
+    }
+
+    /**
+     * Returns the deck with the given cards if it is in this cache, without creating a deck for the lookup.
+     *
+     * @param typeIDs the type IDs of the cards, the top-most card first
+     * @return the deck with these cards - or null if there is none in this cache
+     */
+    public synchronized Deck get(byte[] typeIDs) {
+        lookupKey.set(typeIDs);
+        try {
+            // get marks the deck as the most recently used one
+            return decks.get(lookupKey);
+        } finally {
+            lookupKey.set(null);
+        }
+    }
+
+    /**
+     * Interns the given deck. If there already is a deck with the same cards,
+     * then that deck is returned instead.
+     *
+     * @param deck the deck
+     * @return the interned deck
+     */
+    public synchronized Deck intern(Deck deck) {
+        // get marks the deck as the most recently used one
+        Deck interned = decks.get(deck);
+        if (interned != null) {
+            return interned;
+        }
+        decks.put(deck, deck);
+        return deck;
+    }
+
+    /**
+     * Returns the number of decks in this cache.
+     *
+     * @return the number of decks
+     */
+    public synchronized int size() {
+        return decks.size();
+    }
+
+    /**
+     * The key of a lookup by type IDs. It has the hash code of a deck with these type IDs and is equal to it,
+     * so the map finds the deck without a deck being created.
+     */
+    private static final class LookupKey {
+
+        private byte[] typeIDs;
+        private int hashCode;
+
+        void set(byte[] typeIDs) {
+            this.typeIDs = typeIDs;
+            this.hashCode = typeIDs == null ? 0 : Arrays.hashCode(typeIDs);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Deck && ((Deck) other).hasTypeIDs(typeIDs);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package controller;
+
+import edu.kit.informatik.Terminal;
+import model.BuildableObject;
+import model.GameRules;
+import model.GameState;
+import model.exceptions.CardStackException;
+import model.exceptions.ScavengerException;
+
+/**
+ * The expectimax solver computes the exact probability to win a deck under optimal play.
+ *
+ * The deck is known from the start, so the only chance in the game comes from the dice. The solver
+ * evaluates every possible action with the real rules of {@link Scavenger}, e.g. the order of the
+ * shack, the loss of the fireplace in a catastrophe and the fight bonus. The player maximizes the
+ * probability to win, the dice are averaged over. Each state is only evaluated once, the values and
+ * the best actions are memoized by a compact key of the deck position, the built objects and the
+ * order of the resources.
+ *
+ * @author Moritz
+ * @version 1.0
+ */
+public class ExpectimaxSolver {
+
+    // the actions that are stored in the solver table, building is stored as BUILD + ordinal
+    private static final byte NO_ACTION = 1;
+    private static final byte DRAW = 2;
+    private static final byte BUILD = 3;
+
+    // the objects that win the game immediately, they never appear in the key
+    private static final int WINNING_OBJECTS_MASK = BuildableObject.BALLON.getMask()
+            | BuildableObject.STEAM_BOAT.getMask();
+
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    private final Deck deck;
+    private final SolverTable table;
+
+    // the scavengers of each level of the search, so that the states do not have to be allocated
+    private final Scavenger[] scavengers;
+
+    /**
+     * Creates a new expectimax solver for the given deck.
+     *
+     * @param deck the deck to solve
+     */
+    public ExpectimaxSolver(Deck deck) {
+        this.deck = deck;
+        this.table = new SolverTable();
+        // every level either draws a card or builds an object, the fireplace can be built twice
+        this.scavengers = new Scavenger[deck.size() + 2 * BuildableObject.values().length];
+        for (int i = 0; i < scavengers.length; i++) {
+            scavengers[i] = new Scavenger();
+        }
+    }
+
+    /**
+     * Returns the probability to win the deck from the start, if the player always chooses the best action.
+     *
+     * @return the win probability under optimal play
+     */
+    public synchronized double getWinProbability() {
+        // getBestAction leaves the state of a game in the first level
+        scavengers[0].clear();
+        return evaluate(0, 0);
+    }
+
+    /**
+     * Returns the best action in the current state of the given game.
+     * The game has to be started with the deck of this solver.
+     *
+     * @param game the game
+     * @return the object that should be built next - or null if the player should draw a card,
+     *         or if the game is not in the scavenge state
+     */
+    public synchronized BuildableObject getBestAction(CardGameManager game) {
+        if (game.getGameState() != GameState.SCAVENGE) {
+            return null;
+        }
+        scavengers[0].copyFrom(game.getScavenger());
+        int drawnCards = game.getCardHolder().getNumberOfDrawnCards();
+        evaluate(0, drawnCards);
+        byte action = table.getAction(table.find(getLowKey(scavengers[0]), getHighKey(scavengers[0], drawnCards)));
+        return action >= BUILD ? BuildableObject.values()[action - BUILD] : null;
+    }
+
+    /**
+     * Returns the number of states that have been evaluated.
+     *
+     * @return the number of memoized states
+     */
+    public synchronized int getNumberOfStates() {
+        return table.size();
+    }
+
+    // returns the win probability of the scavenger in the given level, if the game is in the scavenge
+    // state and the given number of cards has been drawn. The scavenger itself is not changed
+    private double evaluate(int level, int drawnCards) {
+        Scavenger scavenger = scavengers[level];
+        long low = getLowKey(scavenger);
+        long high = getHighKey(scavenger, drawnCards);
+        int slot = table.find(low, high);
+        if (table.getAction(slot) != SolverTable.EMPTY) {
+            return table.getValue(slot);
+        }
+
+        double bestValue = 0;
+        byte bestAction = NO_ACTION;
+        if (drawnCards < deck.size()) {
+            bestValue = evaluateDraw(level, drawnCards);
+            bestAction = DRAW;
+        }
+        int buildableMask = scavenger.getBuildableMask();
+        for (BuildableObject buildableObject : BuildableObject.values()) {
+            if ((buildableMask & buildableObject.getMask()) != 0) {
+                double value = evaluateBuild(level, drawnCards, buildableObject);
+                if (value > bestValue || bestAction == NO_ACTION) {
+                    bestValue = value;
+                    bestAction = (byte) (BUILD + buildableObject.ordinal());
+                }
+            }
+        }
+        table.put(low, high, bestValue, bestAction);
+        return bestValue;
+    }
+
+    private double evaluateDraw(int level, int drawnCards) {
+        Scavenger next = scavengers[level + 1];
+        next.copyFrom(scavengers[level]);
+        int typeID = deck.getTypeID(drawnCards);
+        next.checkForResource(typeID);
+        GameState state = GameRules.getStateAfterDraw(typeID);
+        switch (state) {
+            case ENCOUNTER:
+                // the number of rolls that are high enough with the current fight bonus
+                int pips = GameRules.getAnimalPips(typeID);
+                int minimumRoll = Math.max(1, GameRules.getAnimalMinimumRoll(typeID) - next.getFightBonus());
+                double winProbability = Math.max(0, pips - minimumRoll + 1) / (double) pips;
+                double value = 0;
+                if (winProbability > 0) {
+                    value += winProbability * evaluate(level + 1, drawnCards + 1);
+                }
+                if (winProbability < 1) {
+                    next.updateResources(GameState.LOSE);
+                    value += (1 - winProbability) * evaluate(level + 1, drawnCards + 1);
+                }
+                return value;
+            default:
+                // a resource or a catastrophe
+                next.updateResources(state);
+                return evaluate(level + 1, drawnCards + 1);
+        }
+    }
+
+    private double evaluateBuild(int level, int drawnCards, BuildableObject buildableObject) {
+        Scavenger next = scavengers[level + 1];
+        next.copyFrom(scavengers[level]);
+        GameState stateAfterBuild;
+        try {
+            stateAfterBuild = next.build(buildableObject);
+        } catch (ScavengerException e) {
+            // only the objects of the buildable mask are built
+            throw new IllegalStateException(e.getMessage());
+        }
+        switch (stateAfterBuild) {
+            case WIN:
+                return 1;
+            case ENDEAVOR:
+                int ordinal = buildableObject.ordinal();
+                int pips = GameRules.getRescuePips(ordinal);
+                double winProbability
+                        = Math.max(0, pips - GameRules.getRescueMinimumRoll(ordinal) + 1) / (double) pips;
+                // a failed endeavor continues with the rescue built
+                return winProbability + (1 - winProbability) * evaluate(level + 1, drawnCards);
+            default:
+                return evaluate(level + 1, drawnCards);
+        }
+    }
+
+    // the first 32 unsaved resources
+    private static long getLowKey(Scavenger scavenger) {
+        return scavenger.getResources().packUnsaved(0);
+    }
+
+    // the remaining unsaved resources (at most 16), the shack, the sizes, the deck position and the
+    // built objects without the ones that win immediately
+    private static long getHighKey(Scavenger scavenger, int drawnCards) {
+        ResourceLedger resources = scavenger.getResources();
+        int builtMask = scavenger.getBuiltObjectsMask() & ~WINNING_OBJECTS_MASK;
+        // close the gap of the ballon bit
+        int compactBuiltMask = (builtMask & 0xF) | (builtMask >>> 1 & 0x30);
+        return resources.packUnsaved(Long.SIZE / 2)
+                | (long) resources.packShack() << 32
+                | (long) resources.getShackSize() << 42
+                | (long) resources.getUnsavedSize() << 45
+                | (long) drawnCards << 51
+                | (long) compactBuiltMask << 58;
+    }
+
+    /**
+     * Solves a deck and prints the win probability under optimal play.
+     *
+     * @param args the cards as a comma separated string
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            Terminal.printError("required arguments: <card1,card2,...,card64>");
+            return;
+        }
+        ExpectimaxSolver solver;
+        try {
+            solver = new ExpectimaxSolver(Deck.parse(args[0]));
+        } catch (CardStackException e) {
+            Terminal.printError(e.getMessage());
+            return;
+        }
+        long start = System.nanoTime();
+        double winProbability = solver.getWinProbability();
+        double seconds = (System.nanoTime() - start) / NANOS_PER_SECOND;
+        Terminal.printLine(String.format("win probability: %.6f%%", 100 * winProbability));
+        Terminal.printLine(String.format("%d states in %.2f seconds", solver.getNumberOfStates(), seconds));
+    }
+}
@@ -0,0 +1,306 @@
+package controller;
+
+import model.BuildableObject;
+import model.CardType;
+import model.buildables.building.Shack;
+import model.cards.resources.Resource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static model.CardType.AMOUNT_OF_DIFFERENT_RESOURCES;
+import static model.CardType.AMOUNT_OF_EACH_RESOURCE;
+
+/**
+ * The resource ledger stores the resources of a {@link Scavenger} by their type ID.
+ *
+ * The unsaved resources are kept in drawing order in a byte array, the resources saved in the
+ * shack in a ring of five slots. Both are allocated once, so drawing, building and losing
+ * resources does not create any objects.
+ *
+ * @author Moritz
+ * @version 1.0
+ */
+public class ResourceLedger {
+
+    // the most resources a player can hold at a time
+    private static final int CAPACITY = AMOUNT_OF_DIFFERENT_RESOURCES * AMOUNT_OF_EACH_RESOURCE;
+
+    // the total amount of each resource by type ID, including the ones in the shack
+    private final int[] resourcesByTypeID;
+
+    // the amount of each unsaved resource by type ID
+    private final int[] unsavedByTypeID;
+
+    // the unsaved resources, the most recently added one is at the end
+    private final byte[] unsaved;
+    private int unsavedSize;
+
+    // the shack ring, its logical first element is at shackHead
+    private final byte[] shack;
+    private int shackHead;
+    private int shackSize;
+    private boolean hasShack;
+
+    // the amount of each resource that still has to be consumed during a build
+    private final int[] stillNeeded;
+
+    /**
+     * Creates a new and empty resource ledger.
+     */
+    public ResourceLedger() {
+        this.resourcesByTypeID = new int[AMOUNT_OF_DIFFERENT_RESOURCES];
+        this.unsavedByTypeID = new int[AMOUNT_OF_DIFFERENT_RESOURCES];
+        this.unsaved = new byte[CAPACITY];
+        this.unsavedSize = 0;
+        this.shack = new byte[Shack.MAX_SAVED_RESOURCES];
+        this.shackHead = 0;
+        this.shackSize = 0;
+        this.hasShack = false;
+        this.stillNeeded = new int[AMOUNT_OF_DIFFERENT_RESOURCES];
+    }
+
+    /**
+     * Returns the amount of the resource with the given type ID.
+     *
+     * @param typeID the type ID of the resource
+     * @return the amount of this resource, including the saved ones
+     */
+    int getAmount(int typeID) {
+        return resourcesByTypeID[typeID];
+    }
+
+    /**
+     * Returns true if the shack has been built.
+     *
+     * @return true if there is a shack
+     */
+    boolean hasShack() {
+        return hasShack;
+    }
+
+    /**
+     * Adds a drawn resource. If the shack is full, its first resource
+     * is moved to the unsaved resources to make space for the new one.
+     *
+     * @param typeID the type ID of the drawn resource
+     */
+    void add(int typeID) {
+        resourcesByTypeID[typeID]++;
+        if (!hasShack) {
+            pushUnsaved(typeID);
+            return;
+        }
+        if (shackSize == Shack.MAX_SAVED_RESOURCES) {
+            // then the first card in the shack has to go to the unsaved resources
+            pushUnsaved(shack[shackHead]);
+            shackHead = shackIndex(1);
+            shackSize--;
+        }
+        shack[shackIndex(shackSize)] = (byte) typeID;
+        shackSize++;
+    }
+
+    /**
+     * Builds the shack and moves the most recent unsaved resources into it.
+     */
+    void buildShack() {
+        this.hasShack = true;
+        fillShack();
+    }
+
+    /**
+     * Moves unsaved resources to the shack while there is space.
+     */
+    void fillShack() {
+        if (!hasShack) {
+            return;
+        }
+        while (shackSize < Shack.MAX_SAVED_RESOURCES && unsavedSize > 0) {
+            int typeID = unsaved[--unsavedSize];
+            unsavedByTypeID[typeID]--;
+            shackHead = shackIndex(Shack.MAX_SAVED_RESOURCES - 1);
+            shack[shackHead] = (byte) typeID;
+            shackSize++;
+        }
+    }
+
+    /**
+     * Consumes the resources needed for the given buildable object. The shack is used first,
+     * starting with its last resource, then the unsaved resources, starting with the most recent one.
+     * The caller has to make sure that there are enough resources.
+     *
+     * @param buildableObject the buildable object that gets built
+     */
+    void consume(BuildableObject buildableObject) {
+        int total = 0;
+        for (int i = 0; i < AMOUNT_OF_DIFFERENT_RESOURCES; i++) {
+            int needed = buildableObject.getAmountOfResourceNeeded(i);
+            stillNeeded[i] = needed;
+            resourcesByTypeID[i] -= needed;
+            total += needed;
+        }
+        if (hasShack) {
+            total = consumeFromShack(total);
+        }
+        consumeFromUnsaved(total);
+    }
+
+    /**
+     * Deletes all unsaved resources, for example when the player lost against an animal.
+     */
+    void clearUnsaved() {
+        for (int i = 0; i < AMOUNT_OF_DIFFERENT_RESOURCES; i++) {
+            resourcesByTypeID[i] -= unsavedByTypeID[i];
+            unsavedByTypeID[i] = 0;
+        }
+        unsavedSize = 0;
+    }
+
+    /**
+     * Removes all resources and the shack.
+     */
+    void clear() {
+        for (int i = 0; i < AMOUNT_OF_DIFFERENT_RESOURCES; i++) {
+            resourcesByTypeID[i] = 0;
+            unsavedByTypeID[i] = 0;
+        }
+        this.unsavedSize = 0;
+        this.shackHead = 0;
+        this.shackSize = 0;
+        this.hasShack = false;
+    }
+
+    /**
+     * Returns all resources as a list, the unsaved ones first and then the ones in the shack.
+     *
+     * @return all resources as a list
+     */
+    List<Resource> toList() {
+        List<Resource> result = new ArrayList<>(unsavedSize + shackSize);
+        for (int i = 0; i < unsavedSize; i++) {
+            result.add((Resource) CardType.getCardByTypeID(unsaved[i]));
+        }
+        for (int i = 0; i < shackSize; i++) {
+            result.add((Resource) CardType.getCardByTypeID(shack[shackIndex(i)]));
+        }
+        return result;
+    }
+
+    /**
+     * Copies the resources of the given ledger into this one.
+     *
+     * @param other the ledger to copy
+     */
+    void copyFrom(ResourceLedger other) {
+        System.arraycopy(other.resourcesByTypeID, 0, resourcesByTypeID, 0, AMOUNT_OF_DIFFERENT_RESOURCES);
+        System.arraycopy(other.unsavedByTypeID, 0, unsavedByTypeID, 0, AMOUNT_OF_DIFFERENT_RESOURCES);
+        System.arraycopy(other.unsaved, 0, unsaved, 0, other.unsavedSize);
+        this.unsavedSize = other.unsavedSize;
+        System.arraycopy(other.shack, 0, shack, 0, Shack.MAX_SAVED_RESOURCES);
+        this.shackHead = other.shackHead;
+        this.shackSize = other.shackSize;
+        this.hasShack = other.hasShack;
+    }
+
+    /**
+     * Returns the number of unsaved resources.
+     *
+     * @return the number of unsaved resources
+     */
+    int getUnsavedSize() {
+        return unsavedSize;
+    }
+
+    /**
+     * Returns the number of resources in the shack.
+     *
+     * @return the number of saved resources
+     */
+    int getShackSize() {
+        return shackSize;
+    }
+
+    /**
+     * Packs the type IDs of up to 32 unsaved resources into a long, two bits per resource.
+     *
+     * @param from the position of the first packed resource in drawing order
+     * @return the packed resources
+     */
+    long packUnsaved(int from) {
+        long bits = 0;
+        int to = Math.min(unsavedSize, from + Long.SIZE / 2);
+        for (int i = from; i < to; i++) {
+            bits |= (long) unsaved[i] << (2 * (i - from));
+        }
+        return bits;
+    }
+
+    /**
+     * Packs the type IDs of the resources in the shack into an int, two bits per resource
+     * and starting with the first one.
+     *
+     * @return the packed resources
+     */
+    int packShack() {
+        int bits = 0;
+        for (int i = 0; i < shackSize; i++) {
+            bits |= shack[shackIndex(i)] << (2 * i);
+        }
+        return bits;
+    }
+
+    // consumes the needed resources from the shack and keeps the order of the remaining ones.
+    // returns the amount of resources that are still needed
+    private int consumeFromShack(int total) {
+        int read = shackSize - 1;
+        int write = shackSize - 1;
+        while (total > 0 && read >= 0) {
+            int typeID = shack[shackIndex(read--)];
+            if (stillNeeded[typeID] > 0) {
+                stillNeeded[typeID]--;
+                total--;
+            } else {
+                shack[shackIndex(write--)] = (byte) typeID;
+            }
+        }
+        // move the resources that have not been scanned up to the kept ones
+        while (read >= 0) {
+            shack[shackIndex(write--)] = shack[shackIndex(read--)];
+        }
+        int removed = write + 1;
+        shackHead = shackIndex(removed);
+        shackSize -= removed;
+        return total;
+    }
+
+    // consumes the needed resources from the unsaved resources, starting with the most recent one.
+    // only the scanned part of the array is moved
+    private void consumeFromUnsaved(int total) {
+        int read = unsavedSize - 1;
+        int write = unsavedSize - 1;
+        while (total > 0 && read >= 0) {
+            int typeID = unsaved[read--];
+            if (stillNeeded[typeID] > 0) {
+                stillNeeded[typeID]--;
+                unsavedByTypeID[typeID]--;
+                total--;
+            } else {
+                unsaved[write--] = (byte) typeID;
+            }
+        }
+        int kept = unsavedSize - 1 - write;
+        System.arraycopy(unsaved, write + 1, unsaved, read + 1, kept);
+        unsavedSize = read + 1 + kept;
+    }
+
+    private void pushUnsaved(int typeID) {
+        unsaved[unsavedSize++] = (byte) typeID;
+        unsavedByTypeID[typeID]++;
+    }
+
+    // maps the logical position in the shack to the index in the ring
+    private int shackIndex(int position) {
+        return (shackHead + position) % Shack.MAX_SAVED_RESOURCES;
+    }
+}
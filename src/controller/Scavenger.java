@@ -1,41 +1,54 @@
 package controller;
 
-import model.Buildable;
+import controller.events.BuildEvent;
+import controller.events.GameEvents;
 import model.BuildableObject;
 import model.Card;
-import model.CardType;
+import model.GameRules;
 import model.GameState;
-import model.buildables.building.Shack;
 import model.cards.resources.Resource;
 import model.exceptions.ScavengerException;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Stack;
-
-import static model.CardType.AMOUNT_OF_DIFFERENT_RESOURCES;
 
 /**
  * The scavenger class manages resource distribution as well as building objects.
+ * Every built object is recorded as a {@link BuildEvent} while a flight recording is running.
  *
  * @author Moritz
  * @version 1.0
  */
 public class Scavenger {
 
-    // stores the amount of resources the player currently has by type ID
-    // e.g. wood has type 0, so [0] represents the amount of wood which the player has
-    private int[] resourcesByTypeID;
+    // the errors of the build command. They are shared, because they do not have a stack trace
+    private static final ScavengerException ALREADY_BUILT = new ScavengerException("this has already been built.");
+    private static final ScavengerException[] CANNOT_BE_BUILT = new ScavengerException[BuildableObject.values().length];
+
+    // the buildable objects by their ordinal
+    private static final BuildableObject[] BUILDABLE_OBJECTS = BuildableObject.values();
+
+    static {
+        for (BuildableObject buildableObject : BuildableObject.values()) {
+            CANNOT_BE_BUILT[buildableObject.ordinal()]
+                    = new ScavengerException(buildableObject.getTypeAsString() + " cannot be built.");
+        }
+    }
 
-    private Stack<Resource> resources;
+    // stores the unsaved resources and the resources in the shack of this scavenger.
+    // the shack of each scavenger is separate, so that several games can run at the same time
+    private final ResourceLedger resources;
 
     private boolean hasFirePlace;
-    private Shack shack;
 
-    private LinkedList<BuildableObject> alreadyBuiltObjects;
+    // the ordinals of the built objects in the order in which they were built, the last one at the end
+    private final byte[] buildOrder;
+    private int builtCount;
+
+    // the masks of the already built objects and of those that can be built with the current resources.
+    // they get updated whenever the resources change, see BuildableObject#getMask()
+    private int builtMask;
+    private int affordableMask;
 
     private int fightBonus;
 
@@ -43,41 +56,67 @@ public class Scavenger {
      * Creates a new scavenger.
      */
     public Scavenger() {
-        this.resources = new Stack<>();
-        this.resourcesByTypeID = new int[AMOUNT_OF_DIFFERENT_RESOURCES];
+        this.resources = new ResourceLedger();
         this.hasFirePlace = false;
-        this.shack = null;
-        this.alreadyBuiltObjects = new LinkedList<>();
+        this.buildOrder = new byte[BUILDABLE_OBJECTS.length];
+        this.builtCount = 0;
+        this.builtMask = 0;
+        this.affordableMask = 0;
         this.fightBonus = 0;
     }
 
+    /**
+     * Removes all resources and built objects, so that this scavenger is like a new one.
+     */
+    void clear() {
+        resources.clear();
+        this.hasFirePlace = false;
+        this.builtCount = 0;
+        this.builtMask = 0;
+        this.affordableMask = 0;
+        this.fightBonus = 0;
+    }
+
+    /**
+     * Copies the resources and built objects of the given scavenger into this one.
+     *
+     * @param other the scavenger to copy
+     */
+    void copyFrom(Scavenger other) {
+        resources.copyFrom(other.resources);
+        this.hasFirePlace = other.hasFirePlace;
+        System.arraycopy(other.buildOrder, 0, buildOrder, 0, other.builtCount);
+        this.builtCount = other.builtCount;
+        this.builtMask = other.builtMask;
+        this.affordableMask = other.affordableMask;
+        this.fightBonus = other.fightBonus;
+    }
+
     /**
      * Creates a buildable object.
      *
      * @param buildable the buildable that will be created
-     * @return the buildable
+     * @return the game state after building it, see {@link GameRules#getStateAfterBuild(int)}
      * @throws ScavengerException if it cannot be built or already exists.
      */
-    public Buildable build(BuildableObject buildable) throws ScavengerException {
-        Buildable builtObject = checkBuildableObject(buildable);
-        if (builtObject == null) {
-            throw new ScavengerException(buildable.getTypeAsString() + " cannot be built.");
+    public GameState build(BuildableObject buildable) throws ScavengerException {
+        BuildEvent event = GameEvents.isRecorded(BuildEvent.class) ? GameEvents.begin(new BuildEvent()) : null;
+        int shackSize = resources.getShackSize();
+        if (!checkBuildableObject(buildable)) {
+            throw CANNOT_BE_BUILT[buildable.ordinal()];
         }
         // check if this built object has already been built
         if (checkIfBuiltAlready(buildable)) {
-            throw new ScavengerException("this has already been built.");
-        }
-        // else add it to the built objects list
-        alreadyBuiltObjects.addFirst(buildable);
-
-        // first, check the shack, then unsaved resources.
-        if (shack != null) {
-            int[] remainingResourceArr = deleteResourcesFromShack(builtObject);
-            // delete the possible remaining resources from the main stack
-            deleteResourcesFromMainStack(remainingResourceArr);
-        } else {
-            deleteResourcesFromMainStack(builtObject.getAmountOfResourcesNeeded());
+            throw ALREADY_BUILT;
         }
+        // else add it to the built objects
+        buildOrder[builtCount++] = (byte) buildable.ordinal();
+        builtMask |= buildable.getMask();
+
+        // first, the shack is used, then the unsaved resources.
+        resources.consume(buildable);
+        // the shack is refilled below, so it has only been used if it shrank right now
+        boolean shackInUse = resources.getShackSize() < shackSize;
 
         //check if a shack or fireplace has been built
         checkForShackOrFirePlace(buildable);
@@ -85,166 +124,58 @@ public class Scavenger {
         // update the resource distribution
         updateShackAfterBuild();
 
+        updateAffordableMask();
+
         // update fight bonus for possible encounters
-        this.fightBonus = Math.max(builtObject.getFightBonus(), fightBonus);
-        return builtObject;
+        this.fightBonus = Math.max(GameRules.getFightBonus(buildable.ordinal()), fightBonus);
+        if (GameEvents.end(event)) {
+            event.setBuildable(buildable.getTypeAsString());
+            event.setShackInUse(shackInUse);
+            event.commit();
+        }
+        return GameRules.getStateAfterBuild(buildable.ordinal());
     }
 
     private boolean checkIfBuiltAlready(BuildableObject buildable) {
-        if (!alreadyBuiltObjects.isEmpty()) {
-            for (BuildableObject alreadyBuilt : alreadyBuiltObjects) {
-                if (buildable.getTypeAsString().equals(
-                        alreadyBuilt.getTypeAsString())) {
-                    return true;
-                }
-            }
-        }
-        return false;
+        return (builtMask & buildable.getMask()) != 0;
     }
 
     /**
-     * Checks a card. If it is a resource it gets added to resources.
+     * Checks a drawn card. If it is a resource it gets added to resources.
      *
-     * @param card the checked card
+     * @param typeID the type ID of the checked card
      */
-    void checkForResource(Card card) {
-        if (card == null) {
-            return;
-        }
-        if (CardType.isResource(card)) {
-            Resource resourceCard = (Resource) card;
+    void checkForResource(int typeID) {
+        if (GameRules.isResource(typeID)) {
             // update resource distribution
-            updateShackAfterDraw(resourceCard);
-            resourcesByTypeID[card.getTypeID()]++;
-        }
-    }
-
-    /**
-     * Deletes the resources needed for the given built object from the shack.
-     *
-     * @param builtObject the built object
-     * @return the remaining resource array, if the shack didn't contain all needed resources
-     */
-    private int[] deleteResourcesFromShack(Buildable builtObject) {
-        // resource level before building the specified object
-        int[] newResourceLevel = this.resourcesByTypeID.clone();
-
-        // amount of needed resources
-        int[] resourceArr = builtObject.getAmountOfResourcesNeeded();
-
-        // store the unused resources
-        LinkedList<Resource> unusedResources = new LinkedList<>();
-
-        // while the int at the index of the resource
-        // is higher than the new resource level,
-        // delete the resource from the stack
-        int iterations = shack.getSavedResources().size();
-        for (int i = 0; i < iterations; i++) {
-            Resource resource = shack.removeLast();
-            int typeID = resource.getTypeID();
-            int currentLevel = newResourceLevel[typeID]; // the current value at that position
-
-            if (currentLevel > (currentLevel - resourceArr[typeID])) {
-                // if true, then this resource will be left out from the resulting card stack
-                // update the old resource level
-                newResourceLevel[typeID]--;
-                resourceArr[typeID]--;
-            } else {
-                unusedResources.addFirst(resource);
-            }
+            resources.add(typeID);
+            updateAffordableMask();
         }
-        this.resourcesByTypeID = newResourceLevel;
-        this.shack.setSavedResources(unusedResources);
-        return resourceArr;
     }
 
     /**
-     * Deletes the resources needed for the specified built object from the specified resource stack.
+     * Returns all buildable objects that can be built with the current resources.
      *
-     * @param resourceArr the resource array from the built object
+     * @return all buildable objects that can be built
      */
-    void deleteResourcesFromMainStack(int[] resourceArr) {
-        // amount of needed resources
-        int[] neededResources = resourceArr.clone();
-
-        // new resource level
-        int[] newResourceLevel = subtractEqualSizeArr(resourcesByTypeID, neededResources);
-
-        // store the unused resources
-        Stack<Resource> unusedResources = new Stack<>();
-
-        // while the int at the index of the resource
-        // is higher than the new resource level,
-        // delete the resource from the stack
-        int iterations = resources.size();
-        for (int i = 0; i < iterations; i++) {
-            Resource resource = resources.pop();
-            int typeID = resource.getTypeID();
-            if (resourcesByTypeID[typeID] > newResourceLevel[typeID]) {
-                // if true, then this resource will be left out from the resulting card stack
-                resourcesByTypeID[typeID]--;
-            } else {
-                unusedResources.push(resource);
-            }
-        }
-        Collections.reverse(unusedResources);
-        resources = unusedResources;
-    }
-
-
-    private int[] subtractEqualSizeArr(int[] arr, int[] subtrahend) {
-        if (subtrahend.length != arr.length) {
-            return null;
-        }
-        int[] result = new int[arr.length];
-        for (int i = 0; i < arr.length; i++) {
-            result[i] = arr[i] - subtrahend[i];
-        }
-        return result;
+    List<BuildableObject> allBuildableObjects() {
+        return BuildableObject.getSortedListByMask(getBuildableMask());
     }
 
     /**
-     * Returns all buildable objects that can be built with the current resources.
+     * Returns the mask of all objects that can be built and have not been built yet,
+     * see {@link BuildableObject#getMask()}.
      *
-     * @return all buildable objects that can be built
+     * @return the mask of all buildable objects
      */
-    List<BuildableObject> allBuildableObjects() {
-        List<BuildableObject> result = new ArrayList<>();
-        for (BuildableObject buildableObject : BuildableObject.values()) {
-            // if null is returned, it cannot be built
-            if (checkBuildableObject(buildableObject) != null
-                    && !checkIfBuiltAlready(buildableObject)) {
-                result.add(buildableObject);
-            }
-        }
-        result.sort(Comparator.comparing(BuildableObject::getTypeAsString));
-        return result;
+    int getBuildableMask() {
+        return affordableMask & ~builtMask;
     }
 
     // updates the resource distribution after a build command
     private void updateShackAfterBuild() {
-        if (shack == null) {
-            return;
-        }
         // moves cards to the shack while there is space
-        while (shack.hasSpace() && !resources.isEmpty()) {
-            Resource res = resources.pop();
-            shack.addFirst(res);
-        }
-    }
-
-    // updates the resource distribution after a draw command
-    private void updateShackAfterDraw(Resource resource) {
-        if (shack == null) {
-            resources.push(resource);
-            return;
-        }
-        if (!shack.hasSpace()) {
-            // then the last card in the shack has to go to the other resource stack
-            Resource lastInShack = shack.removeFirst();
-            resources.push(lastInShack);
-        }
-        shack.addLast(resource);
+        resources.fillShack();
     }
 
     /**
@@ -260,42 +191,52 @@ public class Scavenger {
                 break;
             case CATASTROPHE:
                 this.hasFirePlace = false;
-                alreadyBuiltObjects.remove(BuildableObject.FIREPLACE);
+                if (checkIfBuiltAlready(BuildableObject.FIREPLACE)) {
+                    removeFromBuildOrder(BuildableObject.FIREPLACE);
+                }
+                builtMask &= ~BuildableObject.FIREPLACE.getMask();
                 resetResourceStack();
                 break;
             default:
+                return;
+        }
+        updateAffordableMask();
+    }
+
+    // removes a built object and keeps the order of the other ones
+    private void removeFromBuildOrder(BuildableObject buildable) {
+        int write = 0;
+        for (int read = 0; read < builtCount; read++) {
+            if (buildOrder[read] != buildable.ordinal()) {
+                buildOrder[write++] = buildOrder[read];
+            }
         }
+        builtCount = write;
     }
 
     /**
      * Checks if the given buildable object can be built with the current resources.
      *
      * @param buildableObject the buildable object that gets checked
-     * @return the buildable if it can be built, null otherwise
+     * @return true if it can be built
      */
-    private Buildable checkBuildableObject(BuildableObject buildableObject) {
-        Buildable buildable = buildableObject.getAccordingBuildable();
-        int[] resourceArr = buildable.getAmountOfResourcesNeeded();
-        if (buildable.requiresFirePlace() && !hasFirePlace) {
-            return null;
-        }
-        // check if there are enough resources
-        for (int i = 0; i < AMOUNT_OF_DIFFERENT_RESOURCES; i++) {
-            if (resourcesByTypeID[i] < resourceArr[i]) {
-                return null;
-            }
-        }
-        // enough resources, return the buildable
-        return buildable;
+    private boolean checkBuildableObject(BuildableObject buildableObject) {
+        return (affordableMask & buildableObject.getMask()) != 0;
+    }
+
+    // updates the mask of the objects that can be built, has to be called whenever
+    // the resources or the fireplace change
+    private void updateAffordableMask() {
+        this.affordableMask = BuildableObject.getAffordableMask(resources.getAmount(Card.WOOD_TYPE_ID),
+                resources.getAmount(Card.METAL_TYPE_ID),
+                resources.getAmount(Card.PLASTIC_TYPE_ID),
+                hasFirePlace);
     }
 
     // resets the resources stack for example when the player lost against an animal
     private void resetResourceStack() {
-        for (Card resourceCard : resources) {
-            // delete the resources which are not in the shack.
-            resourcesByTypeID[resourceCard.getTypeID()]--;
-        }
-        this.resources = new Stack<>();
+        // delete the resources which are not in the shack.
+        resources.clearUnsaved();
     }
 
     // checks if the given buildable object is a shack or a fireplace and updates
@@ -303,8 +244,7 @@ public class Scavenger {
     private void checkForShackOrFirePlace(BuildableObject buildableObject) {
         switch (buildableObject) {
             case SHACK:
-                this.shack = (Shack) buildableObject.getAccordingBuildable();
-                updateShackAfterBuild();
+                resources.buildShack();
                 break;
             case FIREPLACE:
                 this.hasFirePlace = true;
@@ -313,6 +253,24 @@ public class Scavenger {
         }
     }
 
+    /**
+     * Returns the mask of all objects that have been built, see {@link BuildableObject#getMask()}.
+     *
+     * @return the mask of all built objects
+     */
+    int getBuiltObjectsMask() {
+        return builtMask;
+    }
+
+    /**
+     * Returns the resources of this scavenger.
+     *
+     * @return the resource ledger
+     */
+    ResourceLedger getResources() {
+        return resources;
+    }
+
     /**
      * Returns true if the player can build something.
      *
@@ -320,7 +278,7 @@ public class Scavenger {
      */
     protected boolean playerCanBuild() {
         // check if the player is able to build sth
-        return (!allBuildableObjects().isEmpty());
+        return getBuildableMask() != 0;
     }
 
     /**
@@ -329,8 +287,7 @@ public class Scavenger {
      * @return the last built object
      */
     protected BuildableObject getLastBuiltObject() {
-        // the last built object is at the beginning of the list
-        return alreadyBuiltObjects.getFirst();
+        return BUILDABLE_OBJECTS[buildOrder[builtCount - 1]];
     }
 
     /**
@@ -343,12 +300,16 @@ public class Scavenger {
     }
 
     /**
-     * Returns all already built objects as a list.
+     * Returns all already built objects as a list, the last built object first.
      *
      * @return all already built objects
      */
     protected List<BuildableObject> getAllBuiltObjectsAsList() {
-        return alreadyBuiltObjects;
+        List<BuildableObject> result = new ArrayList<>(builtCount);
+        for (int i = builtCount - 1; i >= 0; i--) {
+            result.add(BUILDABLE_OBJECTS[buildOrder[i]]);
+        }
+        return result;
     }
 
     /**
@@ -357,10 +318,6 @@ public class Scavenger {
      * @return all resources as a list
      */
     protected List<Resource> getAllResourcesAsList() {
-        ArrayList<Resource> result = new ArrayList<>(resources);
-        if (shack != null) {
-            result.addAll(shack.getSavedResources());
-        }
-        return result;
+        return resources.toList();
     }
 }
@@ -0,0 +1,132 @@
+package controller;
+
+/**
+ * The solver table memoizes the value and the best action of each game state that the
+ * {@link ExpectimaxSolver} has evaluated.
+ *
+ * A state is identified by a key of two longs. The table uses open addressing with linear probing,
+ * so the keys, values and actions are stored in primitive arrays and no entry objects are created.
+ *
+ * @author Moritz
+ * @version 1.0
+ */
+class SolverTable {
+
+    /**
+     * The action of a state that is not in the table.
+     */
+    static final byte EMPTY = 0;
+
+    private static final int INITIAL_CAPACITY = 1 << 16;
+
+    // the golden ratio constant of fibonacci hashing
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    private long[] keys;
+    private double[] values;
+    private byte[] actions;
+    private int mask;
+    private int size;
+
+    /**
+     * Creates a new and empty solver table.
+     */
+    SolverTable() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Returns the slot of the given key. If the key is not in the table, the returned slot is empty.
+     *
+     * @param low  the low part of the key
+     * @param high the high part of the key
+     * @return the slot of the key
+     */
+    int find(long low, long high) {
+        int slot = hash(low, high) & mask;
+        while (actions[slot] != EMPTY && (keys[2 * slot] != low || keys[2 * slot + 1] != high)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Returns the action that is stored in the given slot.
+     *
+     * @param slot the slot
+     * @return the action, {@link #EMPTY} if the slot is empty
+     */
+    byte getAction(int slot) {
+        return actions[slot];
+    }
+
+    /**
+     * Returns the value that is stored in the given slot.
+     *
+     * @param slot the slot
+     * @return the value
+     */
+    double getValue(int slot) {
+        return values[slot];
+    }
+
+    /**
+     * Stores the value and the action of a state.
+     *
+     * @param low    the low part of the key
+     * @param high   the high part of the key
+     * @param value  the value of the state
+     * @param action the best action in the state, must not be {@link #EMPTY}
+     */
+    void put(long low, long high, double value, byte action) {
+        // keep the load factor at or below one half
+        if (2 * (size + 1) > actions.length) {
+            grow();
+        }
+        int slot = find(low, high);
+        if (actions[slot] == EMPTY) {
+            size++;
+        }
+        keys[2 * slot] = low;
+        keys[2 * slot + 1] = high;
+        values[slot] = value;
+        actions[slot] = action;
+    }
+
+    /**
+     * Returns the number of states in the table.
+     *
+     * @return the number of states
+     */
+    int size() {
+        return size;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        double[] oldValues = values;
+        byte[] oldActions = actions;
+        allocate(2 * oldActions.length);
+        for (int i = 0; i < oldActions.length; i++) {
+            if (oldActions[i] != EMPTY) {
+                int slot = find(oldKeys[2 * i], oldKeys[2 * i + 1]);
+                keys[2 * slot] = oldKeys[2 * i];
+                keys[2 * slot + 1] = oldKeys[2 * i + 1];
+                values[slot] = oldValues[i];
+                actions[slot] = oldActions[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        this.keys = new long[2 * capacity];
+        this.values = new double[capacity];
+        this.actions = new byte[capacity];
+        this.mask = capacity - 1;
+    }
+
+    private static int hash(long low, long high) {
+        long hash = (low ^ Long.rotateLeft(high, 32)) * HASH_MULTIPLIER;
+        return (int) (hash ^ (hash >>> 32));
+    }
+}
@@ -0,0 +1,63 @@
+package controller.dice;
+
+import java.util.SplittableRandom;
+
+/**
+ * A dice source that generates its random numbers in batches and stores them in a byte buffer.
+ *
+ * Each number is between 0 and 23. Since 24 is a multiple of 4, 6 and 8,
+ * the remainder of a number is a fair roll of each of those dice.
+ *
+ * @author Moritz
+ * @version 1.0
+ */
+public class BatchDiceSource implements DiceSource {
+
+    /**
+     * The default number of rolls per batch.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 4096;
+
+    /**
+     * The least common multiple of all dice, e.g. 4, 6 and 8. The stored numbers are below it.
+     */
+    public static final int COMMON_MULTIPLE = 24;
+
+    private final SplittableRandom random;
+    private final byte[] batch;
+    private int nextRoll;
+
+    /**
+     * Creates a new batch dice source with the given seed and the default batch size.
+     *
+     * @param seed the seed
+     */
+    public BatchDiceSource(long seed) {
+        this(new SplittableRandom(seed), DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Creates a new batch dice source.
+     * The generator must not be used by other threads at the same time.
+     *
+     * @param random    the random number generator
+     * @param batchSize the number of rolls that are generated at once
+     */
+    public BatchDiceSource(SplittableRandom random, int batchSize) {
+        this.random = random;
+        this.batch = new byte[batchSize];
+        // the first roll generates the first batch
+        this.nextRoll = batchSize;
+    }
+
+    @Override
+    public int roll(int numOfPips) {
+        if (nextRoll == batch.length) {
+            for (int i = 0; i < batch.length; i++) {
+                batch[i] = (byte) random.nextInt(COMMON_MULTIPLE);
+            }
+            nextRoll = 0;
+        }
+        return batch[nextRoll++] % numOfPips + 1;
+    }
+}
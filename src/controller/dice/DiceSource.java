@@ -0,0 +1,20 @@
+package controller.dice;
+
+/**
+ * Defines the method signature of a dice source.
+ * A dice source rolls the dice for the auto-roll mode of a {@link controller.Backend}.
+ *
+ * @author Moritz
+ * @version 1.0
+ * @see controller.Backend#rollDice()
+ */
+public interface DiceSource {
+
+    /**
+     * Rolls the dice with the given number of pips.
+     *
+     * @param numOfPips the number of pips (the dice), e.g. 4, 6 or 8
+     * @return the rolled number between 1 and numOfPips
+     */
+    int roll(int numOfPips);
+}
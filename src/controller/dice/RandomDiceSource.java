@@ -0,0 +1,39 @@
+package controller.dice;
+
+import java.util.SplittableRandom;
+
+/**
+ * A dice source that rolls with a {@link SplittableRandom}.
+ * Two sources with the same seed roll the same numbers.
+ *
+ * @author Moritz
+ * @version 1.0
+ */
+public class RandomDiceSource implements DiceSource {
+
+    private final SplittableRandom random;
+
+    /**
+     * Creates a new random dice source with the given seed.
+     *
+     * @param seed the seed
+     */
+    public RandomDiceSource(long seed) {
+        this(new SplittableRandom(seed));
+    }
+
+    /**
+     * Creates a new random dice source that rolls with the given random number generator.
+     * The generator must not be used by other threads at the same time.
+     *
+     * @param random the random number generator
+     */
+    public RandomDiceSource(SplittableRandom random) {
+        this.random = random;
+    }
+
+    @Override
+    public int roll(int numOfPips) {
+        return random.nextInt(numOfPips) + 1;
+    }
+}
@@ -0,0 +1,32 @@
+package controller.dice;
+
+/**
+ * A dice source that returns a fixed sequence of rolls, for example to replay a game.
+ * The rolls are returned as they are, even if they do not fit the dice.
+ *
+ * @author Moritz
+ * @version 1.0
+ */
+public class ScriptedDiceSource implements DiceSource {
+
+    private final int[] rolls;
+    private int nextRoll;
+
+    /**
+     * Creates a new scripted dice source.
+     *
+     * @param rolls the rolls in the order they are returned
+     */
+    public ScriptedDiceSource(int... rolls) {
+        this.rolls = rolls.clone();
+        this.nextRoll = 0;
+    }
+
+    @Override
+    public int roll(int numOfPips) {
+        if (nextRoll == rolls.length) {
+            throw new IllegalStateException("no scripted rolls left.");
+        }
+        return rolls[nextRoll++];
+    }
+}
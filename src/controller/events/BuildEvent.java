@@ -0,0 +1,46 @@
+package controller.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A flight recorder event for a built object.
+ *
+ * @author Moritz
+ * @version 1.0
+ */
+@Name("cardgame.Build")
+@Label("Build")
+@Category("Card Game")
+@Description("An object has been built")
+@StackTrace(false)
+public final class BuildEvent extends jdk.jfr.Event {
+
+    @Label("Object")
+    private String buildable;
+
+    @Label("Shack In Use")
+    @Description("Whether resources from the shack have been used")
+    private boolean shackInUse;
+
+    /**
+     * Sets the built object.
+     *
+     * @param buildable the name of the built object
+     */
+    public void setBuildable(String buildable) {
+        this.buildable = buildable;
+    }
+
+    /**
+     * Sets whether resources from the shack have been used.
+     *
+     * @param shackInUse true if the shack has been used
+     */
+    public void setShackInUse(boolean shackInUse) {
+        this.shackInUse = shackInUse;
+    }
+}
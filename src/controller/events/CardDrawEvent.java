@@ -0,0 +1,46 @@
+package controller.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A flight recorder event for a drawn card.
+ *
+ * @author Moritz
+ * @version 1.0
+ */
+@Name("cardgame.CardDraw")
+@Label("Card Draw")
+@Category("Card Game")
+@Description("A card has been drawn from the card stack")
+@StackTrace(false)
+public final class CardDrawEvent extends jdk.jfr.Event {
+
+    @Label("Type ID")
+    private int typeID;
+
+    @Label("Game State")
+    @Description("The game state after the draw")
+    private String gameState;
+
+    /**
+     * Sets the type ID of the drawn card.
+     *
+     * @param typeID the type ID, see {@link model.Card}
+     */
+    public void setTypeID(int typeID) {
+        this.typeID = typeID;
+    }
+
+    /**
+     * Sets the game state after the draw.
+     *
+     * @param gameState the game state
+     */
+    public void setGameState(String gameState) {
+        this.gameState = gameState;
+    }
+}
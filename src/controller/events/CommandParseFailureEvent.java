@@ -0,0 +1,38 @@
+package controller.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A flight recorder event for a line of input that could not be parsed into a command.
+ *
+ * @author Moritz
+ * @version 1.0
+ */
+@Name("cardgame.CommandParseFailure")
+@Label("Command Parse Failure")
+@Category("Card Game")
+@Description("A line of input could not be parsed into a command")
+@StackTrace(false)
+public final class CommandParseFailureEvent extends jdk.jfr.Event {
+
+    @Label("Input")
+    private String input;
+
+    @Label("Message")
+    private String message;
+
+    /**
+     * Sets the input and the error message.
+     *
+     * @param input   the line of input
+     * @param message the error message
+     */
+    public void setFailure(String input, String message) {
+        this.input = input;
+        this.message = message;
+    }
+}
@@ -0,0 +1,45 @@
+package controller.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A flight recorder event for a parsed command that has been rejected while it was executed,
+ * e.g. a start command with invalid cards or a command that is not allowed in the current game state.
+ *
+ * @author Moritz
+ * @version 1.0
+ */
+@Name("cardgame.CommandRejection")
+@Label("Command Rejection")
+@Category("Card Game")
+@Description("A parsed command has been rejected by the game")
+@StackTrace(false)
+public final class CommandRejectionEvent extends jdk.jfr.Event {
+
+    @Label("Command")
+    private String command;
+
+    @Label("Exception")
+    @Description("The simple name of the class of the exception")
+    private String exception;
+
+    @Label("Message")
+    private String message;
+
+    /**
+     * Sets the rejected command and the reason of the rejection.
+     *
+     * @param command   the name of the command
+     * @param exception the simple name of the class of the exception
+     * @param message   the error message
+     */
+    public void setRejection(String command, String exception, String message) {
+        this.command = command;
+        this.exception = exception;
+        this.message = message;
+    }
+}
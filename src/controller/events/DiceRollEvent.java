@@ -0,0 +1,51 @@
+package controller.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A flight recorder event for the resolution of a dice roll in an encounter or an endeavor.
+ *
+ * @author Moritz
+ * @version 1.0
+ */
+@Name("cardgame.DiceRoll")
+@Label("Dice Roll")
+@Category("Card Game")
+@Description("The dice have been rolled in an encounter or an endeavor")
+@StackTrace(false)
+public final class DiceRollEvent extends jdk.jfr.Event {
+
+    @Label("Pips")
+    private int numOfPips;
+
+    @Label("Roll")
+    private int roll;
+
+    @Label("Result")
+    @Description("The game state that resulted from the roll")
+    private String result;
+
+    /**
+     * Sets the dice and the rolled number.
+     *
+     * @param numOfPips the number of pips (the dice)
+     * @param roll      the rolled number
+     */
+    public void setRoll(int numOfPips, int roll) {
+        this.numOfPips = numOfPips;
+        this.roll = roll;
+    }
+
+    /**
+     * Sets the resulting game state.
+     *
+     * @param result the game state
+     */
+    public void setResult(String result) {
+        this.result = result;
+    }
+}
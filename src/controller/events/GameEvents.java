@@ -0,0 +1,70 @@
+package controller.events;
+
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+
+/**
+ * Helps to emit the flight recorder events of the game, so that they cost nothing while they are not recorded.
+ *
+ * An event is only created if its type is recorded, see {@link #isRecorded(Class)}, and
+ * {@link #end(Event)} accepts the missing event of a type that is not recorded:
+ * <pre>
+ * DiceRollEvent event = GameEvents.isRecorded(DiceRollEvent.class) ? GameEvents.begin(new DiceRollEvent()) : null;
+ * ...
+ * if (GameEvents.end(event)) {
+ *     event.setResult(...);
+ *     event.commit();
+ * }
+ * </pre>
+ *
+ * @author Moritz
+ * @version 1.0
+ */
+public abstract class GameEvents {
+
+    // the event type of each event class, which is looked up once, since the lookup is slow
+    private static final ClassValue<EventType> EVENT_TYPES = new ClassValue<EventType>() {
+        @Override
+        protected EventType computeValue(Class<?> type) {
+            return EventType.getEventType(type.asSubclass(Event.class));
+        }
+    };
+
+    /**
+     * Returns true if the events of the given class are recorded, i.e. if the event type is enabled in a
+     * running recording.
+     *
+     * @param type the class of the events
+     * @return true if the events are recorded
+     */
+    public static boolean isRecorded(Class<? extends Event> type) {
+        return EVENT_TYPES.get(type).isEnabled();
+    }
+
+    /**
+     * Begins the given event.
+     *
+     * @param event the event
+     * @param <E>   the type of the event
+     * @return the event
+     */
+    public static <E extends Event> E begin(E event) {
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the given event and returns true if it should be committed, i.e. if its fields should be set and
+     * {@link Event#commit()} should be called.
+     *
+     * @param event the event - or null if its type is not recorded
+     * @return true if the event should be committed
+     */
+    public static boolean end(Event event) {
+        if (event == null) {
+            return false;
+        }
+        event.end();
+        return event.shouldCommit();
+    }
+}
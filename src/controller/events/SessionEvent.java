@@ -0,0 +1,43 @@
+package controller.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A flight recorder event for the start or the reset of a game.
+ *
+ * @author Moritz
+ * @version 1.0
+ */
+@Name("cardgame.Session")
+@Label("Game Session")
+@Category("Card Game")
+@Description("A game has been started or reset")
+@StackTrace(false)
+public final class SessionEvent extends jdk.jfr.Event {
+
+    /**
+     * The action of a started game.
+     */
+    public static final String START = "start";
+
+    /**
+     * The action of a reset game.
+     */
+    public static final String RESET = "reset";
+
+    @Label("Action")
+    private String action;
+
+    /**
+     * Sets the action.
+     *
+     * @param action either {@link #START} or {@link #RESET}
+     */
+    public void setAction(String action) {
+        this.action = action;
+    }
+}
@@ -9,6 +9,13 @@ import model.buildables.rescue.SteamBoat;
 import model.buildables.tools.Axe;
 import model.buildables.tools.Club;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import static model.CardType.AMOUNT_OF_DIFFERENT_RESOURCES;
+
 /**
  * Defines all Subclasses of {@link Buildable}.
  *
@@ -59,8 +66,44 @@ public enum BuildableObject {
      */
     STEAM_BOAT("steamboat", new SteamBoat());
 
+    // one bit in each byte of a long
+    private static final long LOW_BITS = 0x0101010101010101L;
+
+    // the highest bit in each byte of a long
+    private static final long HIGH_BITS = 0x8080808080808080L;
+
+    // moves the highest bit of the i-th byte to bit 56 + i when multiplied
+    private static final long GATHER_BITS = 0x0102040810204080L;
+
+    // the amount of each resource needed by all buildable objects, one long per resource type ID.
+    // the i-th byte of such a long belongs to the buildable object with ordinal i
+    private static final long[] PACKED_RESOURCES_NEEDED = new long[AMOUNT_OF_DIFFERENT_RESOURCES];
+
+    // the mask of all buildable objects that require a fireplace
+    private static final int FIREPLACE_REQUIRED_MASK;
+
+    // all buildable objects in alphabetical order of their type
+    private static final BuildableObject[] SORTED_BY_TYPE;
+
+    static {
+        int fireplaceRequiredMask = 0;
+        for (BuildableObject buildableObject : values()) {
+            for (int i = 0; i < AMOUNT_OF_DIFFERENT_RESOURCES; i++) {
+                PACKED_RESOURCES_NEEDED[i] |= (long) buildableObject.resourcesNeeded[i]
+                        << (Byte.SIZE * buildableObject.ordinal());
+            }
+            if (buildableObject.accordingBuildable.requiresFirePlace()) {
+                fireplaceRequiredMask |= buildableObject.getMask();
+            }
+        }
+        FIREPLACE_REQUIRED_MASK = fireplaceRequiredMask;
+        SORTED_BY_TYPE = values();
+        Arrays.sort(SORTED_BY_TYPE, Comparator.comparing(BuildableObject::getTypeAsString));
+    }
+
     private final String type;
     private final Buildable accordingBuildable;
+    private final int[] resourcesNeeded;
 
     /**
      * Creates a new buildable object.
@@ -71,6 +114,7 @@ public enum BuildableObject {
     BuildableObject(final String type, final Buildable accordingBuildable) {
         this.type = type;
         this.accordingBuildable = accordingBuildable;
+        this.resourcesNeeded = accordingBuildable.getAmountOfResourcesNeeded();
     }
 
     /**
@@ -91,6 +135,66 @@ public enum BuildableObject {
         return type;
     }
 
+    /**
+     * Returns the amount of the resource with the given type ID that is needed to build this object.
+     *
+     * @param typeID the type ID of the resource
+     * @return the amount of this resource needed
+     */
+    public int getAmountOfResourceNeeded(int typeID) {
+        return resourcesNeeded[typeID];
+    }
+
+    /**
+     * Returns the mask of this buildable object, e.g. the bit at the position of its ordinal.
+     *
+     * @return the mask of this buildable object
+     */
+    public int getMask() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * Returns the mask of all buildable objects that can be built with the given amount of resources.
+     * The amounts are compared with the needed resources of all objects at the same time, one byte
+     * per object, so each amount has to be less than 128.
+     *
+     * @param amountOfWood    the amount of wood
+     * @param amountOfMetal   the amount of metal
+     * @param amountOfPlastic the amount of plastic
+     * @param hasFirePlace    true if the player has a fireplace
+     * @return the mask of all buildable objects that can be built
+     */
+    public static int getAffordableMask(int amountOfWood, int amountOfMetal, int amountOfPlastic,
+                                        boolean hasFirePlace) {
+        // the highest bit of a byte stays set if the amount is at least the needed amount
+        long result = ((amountOfWood * LOW_BITS) | HIGH_BITS) - PACKED_RESOURCES_NEEDED[Card.WOOD_TYPE_ID];
+        result &= ((amountOfMetal * LOW_BITS) | HIGH_BITS) - PACKED_RESOURCES_NEEDED[Card.METAL_TYPE_ID];
+        result &= ((amountOfPlastic * LOW_BITS) | HIGH_BITS) - PACKED_RESOURCES_NEEDED[Card.PLASTIC_TYPE_ID];
+        int mask = (int) ((((result & HIGH_BITS) >>> (Byte.SIZE - 1)) * GATHER_BITS) >>> (Long.SIZE - Byte.SIZE));
+        if (!hasFirePlace) {
+            mask &= ~FIREPLACE_REQUIRED_MASK;
+        }
+        return mask;
+    }
+
+    /**
+     * Returns all buildable objects of the given mask as a list,
+     * sorted in alphabetical order of their type.
+     *
+     * @param mask the mask of buildable objects
+     * @return the buildable objects as a sorted list
+     */
+    public static List<BuildableObject> getSortedListByMask(int mask) {
+        List<BuildableObject> result = new ArrayList<>(Integer.bitCount(mask));
+        for (BuildableObject buildableObject : SORTED_BY_TYPE) {
+            if ((mask & buildableObject.getMask()) != 0) {
+                result.add(buildableObject);
+            }
+        }
+        return result;
+    }
+
     /**
      * Gets/Identifies the buildable object by type string
      *
@@ -8,10 +8,6 @@ import model.cards.resources.Metal;
 import model.cards.resources.Plastic;
 import model.cards.resources.Wood;
 
-import static model.Card.METAL_TYPE_ID;
-import static model.Card.PLASTIC_TYPE_ID;
-import static model.Card.WOOD_TYPE_ID;
-
 /**
  * Defines the different card types and the amount of each card.
  *
@@ -25,6 +21,11 @@ public abstract class CardType {
      */
     public static final int AMOUNT_OF_CARD_TYPES = 7;
 
+    /**
+     * The amount of cards in a deck.
+     */
+    public static final int AMOUNT_OF_CARDS = 64;
+
     /**
      * The amount of different resources.
      */
@@ -81,52 +82,77 @@ public abstract class CardType {
     public static final String THUNDERSTORM = "thunderstorm";
 
 
+    /**
+     * The type ID that is returned for strings which do not represent a card.
+     */
+    public static final int UNDEFINED_TYPE_ID = -1;
+
+    // cards are stateless, so one shared instance of each card type is enough
+    private static final Card[] CARDS_BY_TYPE_ID = new Card[AMOUNT_OF_CARD_TYPES];
+
+    // the string representation of each card type by type ID
+    private static final String[] STRINGS_BY_TYPE_ID = new String[AMOUNT_OF_CARD_TYPES];
+
+    static {
+        Card[] cards = {new Wood(), new Metal(), new Plastic(), new Spider(),
+            new Snake(), new Tiger(), new Thunderstorm()};
+        for (Card card : cards) {
+            CARDS_BY_TYPE_ID[card.getTypeID()] = card;
+            STRINGS_BY_TYPE_ID[card.getTypeID()] = card.getTypeAsString();
+        }
+    }
+
     /**
      * Returns the card associated with the given string.
+     * The returned card is shared, since cards do not have a state.
      *
      * @param cardAsString the card as a string
      * @return the card if possible
      */
     public static Card createCardByStringValue(String cardAsString) {
-        Card result;
-        switch (cardAsString) {
-            case WOOD:
-                result = new Wood();
-                break;
-            case METAL:
-                result = new Metal();
-                break;
-            case PLASTIC:
-                result = new Plastic();
-                break;
-            case TIGER:
-                result = new Tiger();
-                break;
-            case SNAKE:
-                result = new Snake();
-                break;
-            case SPIDER:
-                result = new Spider();
-                break;
-            case THUNDERSTORM:
-                result = new Thunderstorm();
-                break;
-            default:
-                return null;
+        int typeID = getTypeIDByStringValue(cardAsString, 0, cardAsString.length());
+        if (typeID == UNDEFINED_TYPE_ID) {
+            return null;
         }
-        return result;
+        return getCardByTypeID(typeID);
+    }
+
+    /**
+     * Returns the shared card of the given type.
+     *
+     * @param typeID the type ID of the card
+     * @return the card of this type
+     */
+    public static Card getCardByTypeID(int typeID) {
+        return CARDS_BY_TYPE_ID[typeID];
     }
 
     /**
-     * Checks if the given card is a resource card.
+     * Returns the type ID of the card whose string representation is the given part of the input.
+     * The part is compared in place, no substring is created.
      *
-     * @param card the checked card
-     * @return true if the card is a resource
-     */
-    public static boolean isResource(Card card) {
-        int cardID = card.getTypeID();
-        return (cardID == WOOD_TYPE_ID
-                || cardID == METAL_TYPE_ID
-                || cardID == PLASTIC_TYPE_ID);
+     * @param input the input that contains the card
+     * @param begin the index of the first character of the card
+     * @param end   the index after the last character of the card
+     * @return the type ID - or {@link #UNDEFINED_TYPE_ID} if it is not a card
+     */
+    public static int getTypeIDByStringValue(CharSequence input, int begin, int end) {
+        int length = end - begin;
+        for (int typeID = 0; typeID < AMOUNT_OF_CARD_TYPES; typeID++) {
+            String type = STRINGS_BY_TYPE_ID[typeID];
+            if (type.length() == length && regionMatches(input, begin, type)) {
+                return typeID;
+            }
+        }
+        return UNDEFINED_TYPE_ID;
+    }
+
+    private static boolean regionMatches(CharSequence input, int begin, String type) {
+        for (int i = 0; i < type.length(); i++) {
+            if (input.charAt(begin + i) != type.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
     }
 }
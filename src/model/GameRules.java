@@ -0,0 +1,161 @@
+package model;
+
+import model.buildables.rescue.Rescue;
+import model.cards.animals.Animal;
+
+import static model.CardType.AMOUNT_OF_CARD_TYPES;
+import static model.CardType.AMOUNT_OF_DIFFERENT_RESOURCES;
+
+/**
+ * Defines the rules of the game as dense tables, indexed by the type ID of a card or
+ * by the ordinal of a {@link BuildableObject}.
+ *
+ * The tables are filled once from the {@link Card} and {@link Buildable} classes, e.g. from
+ * {@link Animal#getMinimumNumberRolledForWin()}. The game itself only looks up the tables, so
+ * drawing a card or building an object needs neither virtual calls nor casts. The card and
+ * buildable classes stay the single source of the rules and are still used by the command line.
+ *
+ * @author Moritz
+ * @version 1.0
+ */
+public abstract class GameRules {
+
+    /**
+     * The number of pips and the minimum roll of cards and objects that do not need the dice.
+     */
+    public static final int NO_DICE = 0;
+
+    private static final int AMOUNT_OF_BUILDABLE_OBJECTS = BuildableObject.values().length;
+
+    // the rules of the cards by type ID
+    private static final GameState[] STATES_AFTER_DRAW = new GameState[AMOUNT_OF_CARD_TYPES];
+    private static final boolean[] RESOURCES = new boolean[AMOUNT_OF_CARD_TYPES];
+    private static final byte[] ANIMAL_PIPS = new byte[AMOUNT_OF_CARD_TYPES];
+    private static final byte[] ANIMAL_MINIMUM_ROLLS = new byte[AMOUNT_OF_CARD_TYPES];
+
+    // the rules of the buildable objects by ordinal, the recipes by ordinal * 3 + resource type ID
+    private static final GameState[] STATES_AFTER_BUILD = new GameState[AMOUNT_OF_BUILDABLE_OBJECTS];
+    private static final byte[] RECIPES = new byte[AMOUNT_OF_BUILDABLE_OBJECTS * AMOUNT_OF_DIFFERENT_RESOURCES];
+    private static final byte[] FIGHT_BONUSES = new byte[AMOUNT_OF_BUILDABLE_OBJECTS];
+    private static final byte[] RESCUE_PIPS = new byte[AMOUNT_OF_BUILDABLE_OBJECTS];
+    private static final byte[] RESCUE_MINIMUM_ROLLS = new byte[AMOUNT_OF_BUILDABLE_OBJECTS];
+
+    static {
+        for (int typeID = 0; typeID < AMOUNT_OF_CARD_TYPES; typeID++) {
+            Card card = CardType.getCardByTypeID(typeID);
+            STATES_AFTER_DRAW[typeID] = card.takeAction();
+            RESOURCES[typeID] = card.isResource();
+            if (card instanceof Animal) {
+                ANIMAL_PIPS[typeID] = (byte) ((Animal) card).getRequiredNumOfPips();
+                ANIMAL_MINIMUM_ROLLS[typeID] = (byte) ((Animal) card).getMinimumNumberRolledForWin();
+            }
+        }
+        for (BuildableObject buildableObject : BuildableObject.values()) {
+            int ordinal = buildableObject.ordinal();
+            for (int typeID = 0; typeID < AMOUNT_OF_DIFFERENT_RESOURCES; typeID++) {
+                RECIPES[ordinal * AMOUNT_OF_DIFFERENT_RESOURCES + typeID]
+                        = (byte) buildableObject.getAmountOfResourceNeeded(typeID);
+            }
+            Buildable buildable = buildableObject.getAccordingBuildable();
+            STATES_AFTER_BUILD[ordinal] = buildable.takeAction();
+            FIGHT_BONUSES[ordinal] = (byte) buildable.getFightBonus();
+            // the rescues that win without the dice keep NO_DICE
+            if (buildable instanceof Rescue && STATES_AFTER_BUILD[ordinal] == GameState.ENDEAVOR) {
+                RESCUE_PIPS[ordinal] = (byte) ((Rescue) buildable).getRequiredNumOfPips();
+                RESCUE_MINIMUM_ROLLS[ordinal] = (byte) ((Rescue) buildable).getMinimumNumberForWin();
+            }
+        }
+    }
+
+    /**
+     * Returns the game state after a card of the given type has been drawn.
+     *
+     * @param typeID the type ID of the card
+     * @return the game state after drawing this card
+     */
+    public static GameState getStateAfterDraw(int typeID) {
+        return STATES_AFTER_DRAW[typeID];
+    }
+
+    /**
+     * Returns true if the cards of the given type are resources.
+     *
+     * @param typeID the type ID of the card
+     * @return true if it is a resource
+     */
+    public static boolean isResource(int typeID) {
+        return RESOURCES[typeID];
+    }
+
+    /**
+     * Returns the number of pips of the dice that is rolled against the animal of the given type.
+     *
+     * @param typeID the type ID of the card
+     * @return the number of pips - or {@link #NO_DICE} if the card is not an animal
+     */
+    public static int getAnimalPips(int typeID) {
+        return ANIMAL_PIPS[typeID];
+    }
+
+    /**
+     * Returns the number that has to be reached, including the fight bonus, to survive
+     * an encounter with the animal of the given type.
+     *
+     * @param typeID the type ID of the card
+     * @return the minimum roll - or {@link #NO_DICE} if the card is not an animal
+     */
+    public static int getAnimalMinimumRoll(int typeID) {
+        return ANIMAL_MINIMUM_ROLLS[typeID];
+    }
+
+    /**
+     * Returns the game state after the object with the given ordinal has been built.
+     *
+     * @param ordinal the ordinal of the buildable object
+     * @return the game state after building this object
+     */
+    public static GameState getStateAfterBuild(int ordinal) {
+        return STATES_AFTER_BUILD[ordinal];
+    }
+
+    /**
+     * Returns the amount of a resource that is needed to build the object with the given ordinal.
+     *
+     * @param ordinal the ordinal of the buildable object
+     * @param typeID  the type ID of the resource
+     * @return the amount of this resource needed
+     */
+    public static int getRecipe(int ordinal, int typeID) {
+        return RECIPES[ordinal * AMOUNT_OF_DIFFERENT_RESOURCES + typeID];
+    }
+
+    /**
+     * Returns the fight bonus of the object with the given ordinal.
+     *
+     * @param ordinal the ordinal of the buildable object
+     * @return the fight bonus
+     */
+    public static int getFightBonus(int ordinal) {
+        return FIGHT_BONUSES[ordinal];
+    }
+
+    /**
+     * Returns the number of pips of the dice that is rolled for the rescue with the given ordinal.
+     *
+     * @param ordinal the ordinal of the buildable object
+     * @return the number of pips - or {@link #NO_DICE} if the object is not a rescue
+     */
+    public static int getRescuePips(int ordinal) {
+        return RESCUE_PIPS[ordinal];
+    }
+
+    /**
+     * Returns the number that has to be rolled to escape with the rescue with the given ordinal.
+     *
+     * @param ordinal the ordinal of the buildable object
+     * @return the minimum roll - or {@link #NO_DICE} if the object is not a rescue
+     */
+    public static int getRescueMinimumRoll(int ordinal) {
+        return RESCUE_MINIMUM_ROLLS[ordinal];
+    }
+}
@@ -3,9 +3,6 @@ package model;
 import model.exceptions.IllegalGameStateException;
 import view.cli.CardGameCommand;
 
-import java.util.Arrays;
-import java.util.List;
-
 /**
  * Defines the possible states of the card game.
  *
@@ -15,7 +12,7 @@ import java.util.List;
 public enum GameState {
 
     // if there are no commands specified, it means
-    // that all commands are allowed
+    // that no command is allowed in this state
 
     // win, lose, catastrophe and survived are only temporary game states and
     // are used for communication between backend and frontend.
@@ -76,7 +73,25 @@ public enum GameState {
      */
     CATASTROPHE;
 
-    private final List<CardGameCommand> allowedCommands;
+    // the exception is thrown for every illegal command, it can be shared since it has no stack trace
+    private static final IllegalGameStateException COMMAND_NOT_ALLOWED
+            = new IllegalGameStateException("this command is currently not allowed");
+
+    // the state that each state settles in after its result has been shown, by ordinal
+    private static final GameState[] RESOLVED_STATES = new GameState[values().length];
+
+    static {
+        for (GameState gameState : values()) {
+            RESOLVED_STATES[gameState.ordinal()] = gameState;
+        }
+        RESOLVED_STATES[WIN.ordinal()] = END;
+        RESOLVED_STATES[LOSE.ordinal()] = SCAVENGE;
+        RESOLVED_STATES[SURVIVED.ordinal()] = SCAVENGE;
+        RESOLVED_STATES[CATASTROPHE.ordinal()] = SCAVENGE;
+    }
+
+    // the allowed commands as a mask, the bit at the ordinal of a command is set if it is allowed
+    private final int allowedCommands;
 
     /**
      * Initializes a game state with its respective allowed commands.
@@ -84,11 +99,21 @@ public enum GameState {
      * @param commands all allowed commands
      */
     GameState(CardGameCommand... commands) {
-        if (commands == null) {
-            allowedCommands = null;
-        } else {
-            this.allowedCommands = Arrays.asList(commands);
+        int mask = 0;
+        for (CardGameCommand command : commands) {
+            mask |= 1 << command.ordinal();
         }
+        this.allowedCommands = mask;
+    }
+
+    /**
+     * Returns true if the given card game command is allowed in this game state.
+     *
+     * @param command the card game command
+     * @return true if it is allowed
+     */
+    public boolean isAllowed(CardGameCommand command) {
+        return (allowedCommands & (1 << command.ordinal())) != 0;
     }
 
     /**
@@ -100,11 +125,19 @@ public enum GameState {
     public void checkGameState(CardGameCommand command)
             throws IllegalGameStateException {
 
-        if (allowedCommands != null
-                && !allowedCommands.contains(command)) {
-            throw new IllegalGameStateException("this command is currently"
-                                                        + " not allowed");
+        if (!isAllowed(command)) {
+            throw COMMAND_NOT_ALLOWED;
         }
     }
-}
 
+    /**
+     * Returns the game state that the game settles in after this state.
+     * Win results in the end state, catastrophe, lose and survived result in the scavenge state.
+     * All other states remain unchanged.
+     *
+     * @return the resulting game state
+     */
+    public GameState resolve() {
+        return RESOLVED_STATES[ordinal()];
+    }
+}
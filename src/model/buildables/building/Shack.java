@@ -1,9 +1,5 @@
 package model.buildables.building;
 
-import model.cards.resources.Resource;
-
-import java.util.LinkedList;
-
 import static model.BuildableObject.SHACK;
 
 /**
@@ -11,7 +7,9 @@ import static model.BuildableObject.SHACK;
  *
  * A shack saves up to five resources at a time.
  * Those saved resources are not lost if the player loses
- * against an animal or if the player draws a catastrophe card
+ * against an animal or if the player draws a catastrophe card.
+ * This class only defines the recipe, the saved resources themselves
+ * belong to the {@link controller.Scavenger} that built the shack.
  *
  * @author Moritz
  * @version 1.0
@@ -25,16 +23,10 @@ public class Shack extends Building {
 
     private static final int FIGHT_BONUS = 0;
 
-    private static final int MAX_SAVED_RESOURCES = 5;
-
-    private LinkedList<Resource> savedResources;
-
     /**
-     * Creates a new shack.
+     * The maximum amount of resources that a shack can save at a time.
      */
-    public Shack() {
-        this.savedResources = new LinkedList<>();
-    }
+    public static final int MAX_SAVED_RESOURCES = 5;
 
     @Override
     public int[] getAmountOfResourcesNeeded() {
@@ -55,68 +47,4 @@ public class Shack extends Building {
     public String getTypeAsString() {
         return SHACK.getTypeAsString();
     }
-
-    /**
-     * Returns true if there is still space for more resources
-     *
-     * @return true if there is still space for more resources
-     */
-    public boolean hasSpace() {
-        return savedResources.size() < MAX_SAVED_RESOURCES;
-    }
-
-    /**
-     * Returns the saved resources.
-     *
-     * @return the saved resoures
-     */
-    public LinkedList<Resource> getSavedResources() {
-        return savedResources;
-    }
-
-    /**
-     * Adds a resource to the beginning of the shack.
-     *
-     * @param resource the added resource
-     */
-    public void addFirst(Resource resource) {
-        savedResources.addFirst(resource);
-    }
-
-    /**
-     * Adds a resource to the end of the shack
-     *
-     * @param resource the added resource
-     */
-    public void addLast(Resource resource) {
-        savedResources.addLast(resource);
-    }
-
-    /**
-     * Sets the saved resoures to the given linked list.
-     *
-     * @param savedResources the resource list
-     */
-    public void setSavedResources(LinkedList<Resource> savedResources) {
-        this.savedResources = savedResources;
-    }
-
-
-    /**
-     * Removes the last resource in the shack
-     *
-     * @return the last resource
-     */
-    public Resource removeLast() {
-        return savedResources.removeLast();
-    }
-
-    /**
-     * Removes the first resource in the shack
-     *
-     * @return the first resource
-     */
-    public Resource removeFirst() {
-        return savedResources.removeFirst();
-    }
 }
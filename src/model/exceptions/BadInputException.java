@@ -6,7 +6,7 @@ package model.exceptions;
  * @author Moritz
  * @version 1.00
  */
-public class BadInputException extends Exception {
+public class BadInputException extends GameException {
 
     /**
      * Gets a new Bad Input Exception.
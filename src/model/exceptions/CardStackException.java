@@ -8,7 +8,7 @@ package model.exceptions;
  * @version 1.0
  * @see controller.CardHolder
  */
-public class CardStackException extends Exception {
+public class CardStackException extends GameException {
 
     /**
      * Creates a new card stack exception
@@ -0,0 +1,22 @@
+package model.exceptions;
+
+/**
+ * The base class of the checked exceptions of the game.
+ *
+ * These exceptions reject wrong input or illegal moves, which is frequent, and they are reported by their
+ * message only. Therefore, they record neither a stack trace nor suppressed exceptions.
+ *
+ * @author Moritz
+ * @version 1.0
+ */
+public abstract class GameException extends Exception {
+
+    /**
+     * Creates a new game exception.
+     *
+     * @param message the error message - or null if {@link #getMessage()} is overridden
+     */
+    protected GameException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -8,7 +8,7 @@ package model.exceptions;
  * @version 1.0
  * @see model.GameState
  */
-public class IllegalGameStateException extends Exception {
+public class IllegalGameStateException extends GameException {
 
     /**
      * Creates an illegal game state exception.
@@ -7,7 +7,7 @@ package model.exceptions;
  * @author Moritz
  * @version 1.0
  */
-public class RollDiceException extends Exception {
+public class RollDiceException extends GameException {
 
     private final int requiredDice;
     private final int rolledNumber;
@@ -20,6 +20,7 @@ public class RollDiceException extends Exception {
      */
     public RollDiceException(final int requiredDice,
                              final int rolledNumber) {
+        super(null);
         this.requiredDice = requiredDice;
         this.rolledNumber = rolledNumber;
     }
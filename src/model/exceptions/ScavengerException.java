@@ -6,7 +6,7 @@ package model.exceptions;
  * @author Moritz
  * @version 1.0
  */
-public class ScavengerException extends Exception {
+public class ScavengerException extends GameException {
 
     /**
      * Creates a scavenger exception
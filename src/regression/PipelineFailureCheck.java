@@ -0,0 +1,144 @@
+package regression;
+
+import controller.CardGameManager;
+import edu.kit.informatik.Terminal;
+import view.cli.CommandPipeline;
+import view.io.LineSource;
+import view.io.OutputSink;
+import view.metrics.CommandMetrics;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * The pipeline failure check makes sure that a {@link CommandPipeline} ends if its reader or its writer fails.
+ *
+ * Each case runs a pipeline whose input or output fails after a few lines on its own thread. The case passes
+ * if {@link CommandPipeline#run()} throws that failure within the timeout, instead of waiting forever for
+ * the failed stage. The exit code is 1 if a case fails, so that the check can be used as a gate.
+ *
+ * @author Moritz
+ * @version 1.0
+ */
+public final class PipelineFailureCheck {
+
+    private static final int LINES_BEFORE_FAILURE = 3;
+    private static final long TIMEOUT_MILLIS = 10_000;
+    private static final String LINE = "draw";
+
+    private PipelineFailureCheck() {
+    }
+
+    /**
+     * Runs the cases and prints their results.
+     *
+     * @param args not used
+     * @throws InterruptedException if the thread is interrupted while waiting for a pipeline
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int failed = 0;
+        if (!check("failing input", new FailingLineSource(), new DiscardingSink(false))) {
+            failed++;
+        }
+        if (!check("failing output", new EndlessLineSource(), new DiscardingSink(true))) {
+            failed++;
+        }
+        Terminal.printLine(failed + " cases failed");
+        System.exit(failed == 0 ? 0 : 1);
+    }
+
+    // runs the pipeline and returns true if it has thrown the failure of the stage in time
+    private static boolean check(String name, LineSource input, OutputSink output) throws InterruptedException {
+        CommandPipeline pipeline = new CommandPipeline(new CardGameManager(), new CommandMetrics(), input, output);
+        Throwable[] thrown = new Throwable[1];
+        Thread thread = new Thread(() -> {
+            try {
+                pipeline.run();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                thrown[0] = e;
+            }
+        }, name);
+        thread.setDaemon(true);
+        thread.start();
+        thread.join(TIMEOUT_MILLIS);
+        String result;
+        if (thread.isAlive()) {
+            result = "FAIL " + name + ": the pipeline has not ended";
+        } else if (!(thrown[0] instanceof UncheckedIOException)) {
+            result = "FAIL " + name + ": the pipeline has thrown " + thrown[0] + " instead of the failure";
+        } else {
+            result = "OK " + name;
+        }
+        Terminal.printLine(result);
+        return result.startsWith("OK");
+    }
+
+    /**
+     * A line source that fails after a few lines, like a file that cannot be read anymore.
+     */
+    private static final class FailingLineSource implements LineSource {
+
+        private int lines;
+
+        @Override
+        public CharSequence readLine() {
+            if (lines++ == LINES_BEFORE_FAILURE) {
+                throw new UncheckedIOException(new IOException("the input has failed"));
+            }
+            return LINE;
+        }
+
+        @Override
+        public boolean ready() {
+            return true;
+        }
+    }
+
+    /**
+     * A line source that never ends, so that only a failed writer can end the pipeline.
+     */
+    private static final class EndlessLineSource implements LineSource {
+
+        @Override
+        public CharSequence readLine() {
+            return LINE;
+        }
+
+        @Override
+        public boolean ready() {
+            return true;
+        }
+    }
+
+    /**
+     * An output sink that discards the lines - or fails after a few lines, like a closed pipe.
+     */
+    private static final class DiscardingSink implements OutputSink {
+
+        private final boolean failing;
+        private int lines;
+
+        DiscardingSink(boolean failing) {
+            this.failing = failing;
+        }
+
+        @Override
+        public void printLine(String line) {
+            if (failing && lines++ == LINES_BEFORE_FAILURE) {
+                throw new UncheckedIOException(new IOException("the output has failed"));
+            }
+        }
+
+        @Override
+        public void printError(String message) {
+            printLine(ERROR_PREFIX + message);
+        }
+
+        @Override
+        public void flush() {
+            // the lines are not kept
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package regression;
+
+import java.util.List;
+
+/**
+ * The result of a replayed transcript: whether its output matched the expected output,
+ * the differences if it did not and how long the replay took.
+ *
+ * @author Moritz
+ * @version 1.0
+ */
+public final class TranscriptResult {
+
+    private final String name;
+    private final List<String> differences;
+    private final long nanos;
+
+    /**
+     * Creates a new transcript result.
+     *
+     * @param name        the name of the transcript
+     * @param differences the lines that describe the differences, empty if the output matched
+     * @param nanos       the time of the replay in nanoseconds
+     */
+    public TranscriptResult(String name, List<String> differences, long nanos) {
+        this.name = name;
+        this.differences = List.copyOf(differences);
+        this.nanos = nanos;
+    }
+
+    /**
+     * Returns the name of the transcript.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns true if the output matched the expected output.
+     *
+     * @return true if the transcript passed
+     */
+    public boolean hasPassed() {
+        return differences.isEmpty();
+    }
+
+    /**
+     * Returns the lines that describe the differences between the expected and the actual output.
+     *
+     * @return the differences, empty if the transcript passed
+     */
+    public List<String> getDifferences() {
+        return differences;
+    }
+
+    /**
+     * Returns the time of the replay, including reading the files.
+     *
+     * @return the time in nanoseconds
+     */
+    public long getNanos() {
+        return nanos;
+    }
+}
@@ -0,0 +1,273 @@
+package regression;
+
+import controller.CardGameManager;
+import edu.kit.informatik.Terminal;
+import view.cli.CommandLineInterface;
+import view.io.BufferedOutputSink;
+import view.io.ChannelLineSource;
+import view.metrics.CommandMetrics;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The transcript runner replays golden transcripts and compares their output with the expected output.
+ *
+ * A transcript consists of an input file with the extension {@value #INPUT_EXTENSION}, which contains the
+ * commands, and a file with the same name and the extension {@value #EXPECTED_EXTENSION}, which contains
+ * the expected output. Each transcript is replayed by its own {@link CardGameManager} and
+ * {@link CommandLineInterface}, which read the input like a piped session and write the output into
+ * memory, so the output is byte for byte that of the program. The transcripts are split between the
+ * threads of a fork/join pool, whose threads steal the remaining transcripts from each other.
+ *
+ * @author Moritz
+ * @version 1.0
+ */
+public final class TranscriptRunner {
+
+    /**
+     * The extension of the input files.
+     */
+    public static final String INPUT_EXTENSION = ".in";
+
+    /**
+     * The extension of the files with the expected output.
+     */
+    public static final String EXPECTED_EXTENSION = ".out";
+
+    private static final String THREADS_OPTION = "--threads";
+
+    // the size of a reported difference: the matching lines in front of it and the differing lines
+    private static final int CONTEXT_LINES = 2;
+    private static final int MAX_DIFFERENT_LINES = 10;
+
+    private static final int SLOWEST_TRANSCRIPTS = 5;
+
+    private static final double NANOS_PER_MILLI = 1e6;
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    private final Path expectedDirectory;
+
+    /**
+     * Creates a new transcript runner.
+     *
+     * @param expectedDirectory the directory of the files with the expected output
+     */
+    public TranscriptRunner(Path expectedDirectory) {
+        this.expectedDirectory = expectedDirectory;
+    }
+
+    /**
+     * Replays the given transcripts in the given pool.
+     *
+     * @param inputs the input files of the transcripts
+     * @param pool   the pool that replays the transcripts
+     * @return the results in the order of the input files
+     */
+    public List<TranscriptResult> run(List<Path> inputs, ForkJoinPool pool) {
+        TranscriptResult[] results = new TranscriptResult[inputs.size()];
+        pool.invoke(new ReplayTask(inputs, results, 0, inputs.size()));
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Replays one transcript on the current thread.
+     *
+     * @param input the input file of the transcript
+     * @return the result
+     */
+    public TranscriptResult replay(Path input) {
+        long start = System.nanoTime();
+        String fileName = input.getFileName().toString();
+        String name = fileName.substring(0, fileName.length() - INPUT_EXTENSION.length());
+        Path expectedPath = expectedDirectory.resolve(name + EXPECTED_EXTENSION);
+        List<String> differences;
+        try {
+            byte[] expected = Files.readAllBytes(expectedPath);
+            differences = compare(expected, replayOutput(input));
+        } catch (IOException e) {
+            differences = List.of("cannot read the transcript: " + e);
+        } catch (RuntimeException e) {
+            differences = List.of("the replay failed: " + e);
+        }
+        return new TranscriptResult(name, differences, System.nanoTime() - start);
+    }
+
+    /**
+     * Runs the commands of the given input file and returns the output.
+     *
+     * @param input the input file
+     * @return the output in bytes
+     * @throws IOException if the input file cannot be read
+     */
+    public static byte[] replayOutput(Path input) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (FileChannel channel = FileChannel.open(input)) {
+            BufferedOutputSink output = new BufferedOutputSink(Channels.newChannel(out));
+            new CommandLineInterface(new CardGameManager(), new CommandMetrics(),
+                    new ChannelLineSource(channel), output).run();
+        }
+        return out.toByteArray();
+    }
+
+    // describes the first lines that differ - or returns an empty list if the outputs are the same
+    private static List<String> compare(byte[] expected, byte[] actual) {
+        if (Arrays.equals(expected, actual)) {
+            return List.of();
+        }
+        List<String> expectedLines = toLines(expected);
+        List<String> actualLines = toLines(actual);
+        List<String> differences = new ArrayList<>();
+        int first = 0;
+        while (first < expectedLines.size() && first < actualLines.size()
+                && expectedLines.get(first).equals(actualLines.get(first))) {
+            first++;
+        }
+        if (first == expectedLines.size() && first == actualLines.size()) {
+            differences.add("the lines are the same, but not their line separators");
+            return differences;
+        }
+        differences.add(String.format("line %d, expected %d lines but was %d lines:",
+                first + 1, expectedLines.size(), actualLines.size()));
+        for (int i = Math.max(0, first - CONTEXT_LINES); i < first; i++) {
+            differences.add("  " + expectedLines.get(i));
+        }
+        int end = Math.min(Math.max(expectedLines.size(), actualLines.size()), first + MAX_DIFFERENT_LINES);
+        for (int i = first; i < end; i++) {
+            String expectedLine = i < expectedLines.size() ? expectedLines.get(i) : null;
+            String actualLine = i < actualLines.size() ? actualLines.get(i) : null;
+            if (expectedLine != null && expectedLine.equals(actualLine)) {
+                differences.add("  " + expectedLine);
+                continue;
+            }
+            if (expectedLine != null) {
+                differences.add("- " + expectedLine);
+            }
+            if (actualLine != null) {
+                differences.add("+ " + actualLine);
+            }
+        }
+        return differences;
+    }
+
+    // every byte is one character, like the input of the command line interface
+    private static List<String> toLines(byte[] bytes) {
+        return new String(bytes, StandardCharsets.ISO_8859_1).lines().collect(Collectors.toList());
+    }
+
+    /**
+     * Replays all transcripts of a directory and prints the differences and the timings.
+     * The exit code is 1 if a transcript failed.
+     *
+     * @param args the directory of the input files, optionally the directory of the files with the
+     *             expected output if it is another one, and "--threads &lt;n&gt;"
+     * @throws IOException if the directory cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        List<String> directories = new ArrayList<>();
+        int threads = Runtime.getRuntime().availableProcessors();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals(THREADS_OPTION) && i + 1 < args.length) {
+                try {
+                    threads = Integer.parseInt(args[++i]);
+                } catch (NumberFormatException nfe) {
+                    Terminal.printError("cannot parse number");
+                    return;
+                }
+            } else {
+                directories.add(args[i]);
+            }
+        }
+        if (directories.isEmpty() || threads < 1) {
+            Terminal.printError("required arguments: <input directory> [expected directory] [--threads <n>]");
+            return;
+        }
+        Path inputDirectory = Paths.get(directories.get(0));
+        Path expectedDirectory = directories.size() > 1 ? Paths.get(directories.get(1)) : inputDirectory;
+        List<Path> inputs;
+        try (Stream<Path> files = Files.list(inputDirectory)) {
+            inputs = files.filter(path -> path.getFileName().toString().endsWith(INPUT_EXTENSION))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        long start = System.nanoTime();
+        List<TranscriptResult> results = new TranscriptRunner(expectedDirectory).run(inputs, pool);
+        double seconds = (System.nanoTime() - start) / NANOS_PER_SECOND;
+        pool.shutdown();
+
+        int failed = 0;
+        long replayNanos = 0;
+        for (TranscriptResult result : results) {
+            replayNanos += result.getNanos();
+            if (!result.hasPassed()) {
+                failed++;
+                Terminal.printLine("FAIL " + result.getName());
+                for (String difference : result.getDifferences()) {
+                    Terminal.printLine("  " + difference);
+                }
+            }
+        }
+        List<TranscriptResult> slowest = new ArrayList<>(results);
+        slowest.sort(Comparator.comparingLong(TranscriptResult::getNanos).reversed());
+        StringBuilder slowestNames = new StringBuilder("slowest:");
+        for (TranscriptResult result : slowest.subList(0, Math.min(SLOWEST_TRANSCRIPTS, slowest.size()))) {
+            slowestNames.append(String.format(Locale.ROOT, " %s %.1f ms", result.getName(),
+                    result.getNanos() / NANOS_PER_MILLI));
+        }
+        Terminal.printLine(slowestNames);
+        Terminal.printLine(String.format(Locale.ROOT,
+                "%d transcripts: %d passed, %d failed in %.3f s (%.3f s of replays on %d threads)",
+                results.size(), results.size() - failed, failed, seconds, replayNanos / NANOS_PER_SECOND, threads));
+        System.exit(failed == 0 ? 0 : 1);
+    }
+
+    /**
+     * A task that replays a range of the transcripts, splitting it until each task replays one transcript,
+     * so that idle threads can steal any of them.
+     */
+    private final class ReplayTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient List<Path> inputs;
+        private final transient TranscriptResult[] results;
+        private final int from;
+        private final int to;
+
+        ReplayTask(List<Path> inputs, TranscriptResult[] results, int from, int to) {
+            this.inputs = inputs;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                if (from < to) {
+                    results[from] = replay(inputs.get(from));
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ReplayTask(inputs, results, from, middle), new ReplayTask(inputs, results, middle, to));
+        }
+    }
+}
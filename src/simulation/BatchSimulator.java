@@ -0,0 +1,479 @@
+package simulation;
+
+import controller.CardGameManager;
+import controller.Deck;
+import controller.dice.BatchDiceSource;
+import controller.dice.DiceSource;
+import edu.kit.informatik.Terminal;
+import model.BuildableObject;
+import model.Card;
+import model.GameRules;
+import model.GameState;
+import model.buildables.building.Shack;
+import model.exceptions.CardStackException;
+import model.exceptions.IllegalGameStateException;
+import model.exceptions.RollDiceException;
+import model.exceptions.ScavengerException;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static model.CardType.AMOUNT_OF_DIFFERENT_RESOURCES;
+import static model.CardType.AMOUNT_OF_EACH_RESOURCE;
+
+/**
+ * The batch simulator plays a batch of games of the same deck in lockstep.
+ *
+ * The state of the games is stored as parallel primitive arrays, one lane per game: the deck cursors,
+ * the resources in drawing order, the shack, the built objects, the fight bonus and the game state
+ * ordinals. In each step every running game does one action, first all games that scavenge,
+ * then all encounters and endeavors are resolved. The rules are looked up in the tables of
+ * {@link GameRules}, so the games do not call any methods of the card or buildable classes.
+ *
+ * The dice of each game are generated before the batch is played, so a game can be replayed
+ * with a {@link CardGameManager}, see {@link #crossCheck(long, long)}.
+ *
+ * @author Moritz
+ * @version 1.0
+ */
+public class BatchSimulator {
+
+    /**
+     * The default number of games that are played in lockstep.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 4096;
+
+    private static final int AMOUNT_OF_BUILDABLE_OBJECTS = BuildableObject.values().length;
+
+    // the most resources a game can hold at a time
+    private static final int CAPACITY = AMOUNT_OF_DIFFERENT_RESOURCES * AMOUNT_OF_EACH_RESOURCE;
+
+    private static final int SHACK_CAPACITY = Shack.MAX_SAVED_RESOURCES;
+
+    private static final int NO_CHOICE = -1;
+
+    private static final byte RUNNING = -1;
+
+    private static final byte SCAVENGE = (byte) GameState.SCAVENGE.ordinal();
+    private static final byte ENCOUNTER = (byte) GameState.ENCOUNTER.ordinal();
+    private static final byte ENDEAVOR = (byte) GameState.ENDEAVOR.ordinal();
+    private static final byte CATASTROPHE = (byte) GameState.CATASTROPHE.ordinal();
+    private static final byte WIN = (byte) GameState.WIN.ordinal();
+
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    private final Deck deck;
+    private final byte[] typeIDs;
+    private final PriorityBuildPolicy policy;
+    private final int batchSize;
+
+    // the chosen object by the mask of the buildable objects
+    private final byte[] choices;
+
+    // the most dice a game can roll: one per animal and one per rescue that needs the dice
+    private final int rollsPerGame;
+
+    // the lanes, one game each
+    private final byte[] states;
+    private final byte[] outcomes;
+    private final int[] cursors;
+    private final int[] builtMasks;
+    private final byte[] fightBonuses;
+    private final byte[] lastBuiltObjects;
+    private final int[] resources;
+    private final int[] unsavedByTypeID;
+    private final byte[] unsaved;
+    private final int[] unsavedSizes;
+    private final byte[] shacks;
+    private final int[] shackHeads;
+    private final int[] shackSizes;
+    private final byte[] rolls;
+    private final int[] rollIndices;
+
+    // the amount of each resource that still has to be consumed during a build
+    private final int[] stillNeeded;
+
+    /**
+     * Creates a new batch simulator with the default batch size.
+     *
+     * @param deck   the deck to simulate
+     * @param policy the build policy of the simulated player
+     */
+    public BatchSimulator(Deck deck, PriorityBuildPolicy policy) {
+        this(deck, policy, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Creates a new batch simulator.
+     *
+     * @param deck      the deck to simulate
+     * @param policy    the build policy of the simulated player
+     * @param batchSize the number of games that are played in lockstep
+     */
+    public BatchSimulator(Deck deck, PriorityBuildPolicy policy, int batchSize) {
+        this.deck = deck;
+        this.policy = policy;
+        this.batchSize = batchSize;
+        this.typeIDs = new byte[deck.size()];
+        int rolls = 0;
+        for (int i = 0; i < deck.size(); i++) {
+            typeIDs[i] = (byte) deck.getTypeID(i);
+            if (GameRules.getAnimalPips(typeIDs[i]) != GameRules.NO_DICE) {
+                rolls++;
+            }
+        }
+        for (int ordinal = 0; ordinal < AMOUNT_OF_BUILDABLE_OBJECTS; ordinal++) {
+            if (GameRules.getStateAfterBuild(ordinal) == GameState.ENDEAVOR) {
+                rolls++;
+            }
+        }
+        this.rollsPerGame = rolls;
+        this.choices = createChoices(policy.getPriorities());
+
+        this.states = new byte[batchSize];
+        this.outcomes = new byte[batchSize];
+        this.cursors = new int[batchSize];
+        this.builtMasks = new int[batchSize];
+        this.fightBonuses = new byte[batchSize];
+        this.lastBuiltObjects = new byte[batchSize];
+        this.resources = new int[batchSize * AMOUNT_OF_DIFFERENT_RESOURCES];
+        this.unsavedByTypeID = new int[batchSize * AMOUNT_OF_DIFFERENT_RESOURCES];
+        this.unsaved = new byte[batchSize * CAPACITY];
+        this.unsavedSizes = new int[batchSize];
+        this.shacks = new byte[batchSize * SHACK_CAPACITY];
+        this.shackHeads = new int[batchSize];
+        this.shackSizes = new int[batchSize];
+        this.rolls = new byte[batchSize * rollsPerGame];
+        this.rollIndices = new int[batchSize];
+        this.stillNeeded = new int[AMOUNT_OF_DIFFERENT_RESOURCES];
+    }
+
+    /**
+     * Simulates the given number of games, one batch after another.
+     *
+     * @param games the number of games
+     * @param seed  the seed of the random dice
+     * @return the result of the simulation
+     */
+    public SimulationResult simulate(long games, long seed) {
+        long[] result = new long[GameOutcome.values().length];
+        SplittableRandom random = new SplittableRandom(seed);
+        for (long played = 0; played < games; played += batchSize) {
+            int lanes = (int) Math.min(batchSize, games - played);
+            playBatch(lanes, random);
+            for (int lane = 0; lane < lanes; lane++) {
+                result[outcomes[lane]]++;
+            }
+        }
+        return SimulationResult.of(result);
+    }
+
+    /**
+     * Simulates the given number of games and replays each of them with a {@link CardGameManager}
+     * and the same dice.
+     *
+     * @param games the number of games
+     * @param seed  the seed of the random dice
+     * @return the number of games with a different outcome
+     */
+    public long crossCheck(long games, long seed) {
+        MonteCarloSimulator reference = new MonteCarloSimulator(deck, policy);
+        CardGameManager backend = new CardGameManager();
+        LaneDiceSource diceSource = new LaneDiceSource();
+        backend.setDiceSource(diceSource);
+        long mismatches = 0;
+        SplittableRandom random = new SplittableRandom(seed);
+        try {
+            backend.start(deck);
+            for (long played = 0; played < games; played += batchSize) {
+                int lanes = (int) Math.min(batchSize, games - played);
+                playBatch(lanes, random);
+                for (int lane = 0; lane < lanes; lane++) {
+                    diceSource.nextRoll = lane * rollsPerGame;
+                    if (reference.playGame(backend).ordinal() != outcomes[lane]) {
+                        mismatches++;
+                    }
+                }
+            }
+        } catch (IllegalGameStateException | RollDiceException | ScavengerException e) {
+            throw new IllegalStateException("simulated player made an illegal move: " + e.getMessage());
+        }
+        return mismatches;
+    }
+
+    // plays the given number of games until all of them have ended
+    private void playBatch(int lanes, SplittableRandom random) {
+        for (int i = 0; i < lanes * rollsPerGame; i++) {
+            rolls[i] = (byte) random.nextInt(BatchDiceSource.COMMON_MULTIPLE);
+        }
+        resetLanes(lanes);
+        int running = lanes;
+        while (running > 0) {
+            for (int lane = 0; lane < lanes; lane++) {
+                if (states[lane] == SCAVENGE && scavenge(lane)) {
+                    running--;
+                }
+            }
+            for (int lane = 0; lane < lanes; lane++) {
+                if (states[lane] == ENCOUNTER) {
+                    resolveEncounter(lane);
+                }
+            }
+            for (int lane = 0; lane < lanes; lane++) {
+                if (states[lane] == ENDEAVOR && resolveEndeavor(lane)) {
+                    running--;
+                }
+            }
+        }
+    }
+
+    private void resetLanes(int lanes) {
+        for (int lane = 0; lane < lanes; lane++) {
+            states[lane] = SCAVENGE;
+            outcomes[lane] = RUNNING;
+            cursors[lane] = 0;
+            builtMasks[lane] = 0;
+            fightBonuses[lane] = 0;
+            unsavedSizes[lane] = 0;
+            shackHeads[lane] = 0;
+            shackSizes[lane] = 0;
+            rollIndices[lane] = lane * rollsPerGame;
+        }
+        Arrays.fill(resources, 0, lanes * AMOUNT_OF_DIFFERENT_RESOURCES, 0);
+        Arrays.fill(unsavedByTypeID, 0, lanes * AMOUNT_OF_DIFFERENT_RESOURCES, 0);
+    }
+
+    // builds or draws, returns true if the game has ended
+    private boolean scavenge(int lane) {
+        int base = lane * AMOUNT_OF_DIFFERENT_RESOURCES;
+        int builtMask = builtMasks[lane];
+        int buildableMask = BuildableObject.getAffordableMask(resources[base + Card.WOOD_TYPE_ID],
+                resources[base + Card.METAL_TYPE_ID],
+                resources[base + Card.PLASTIC_TYPE_ID],
+                (builtMask & BuildableObject.FIREPLACE.getMask()) != 0) & ~builtMask;
+        int choice = choices[buildableMask];
+        if (choice != NO_CHOICE) {
+            build(lane, choice);
+            byte action = (byte) GameRules.getStateAfterBuild(choice).ordinal();
+            if (action == WIN) {
+                return finish(lane, GameOutcome.WIN);
+            }
+            states[lane] = action;
+            return false;
+        }
+        if (cursors[lane] == typeIDs.length) {
+            return finish(lane, buildableMask == 0 ? GameOutcome.LOST : GameOutcome.STUCK);
+        }
+        int typeID = typeIDs[cursors[lane]++];
+        byte action = (byte) GameRules.getStateAfterDraw(typeID).ordinal();
+        if (action == SCAVENGE) {
+            add(lane, typeID);
+        } else if (action == CATASTROPHE) {
+            builtMasks[lane] &= ~BuildableObject.FIREPLACE.getMask();
+            clearUnsaved(lane);
+        } else {
+            states[lane] = action;
+        }
+        return false;
+    }
+
+    private void resolveEncounter(int lane) {
+        int typeID = typeIDs[cursors[lane] - 1];
+        int roll = rolls[rollIndices[lane]++] % GameRules.getAnimalPips(typeID) + 1;
+        if (roll + fightBonuses[lane] < GameRules.getAnimalMinimumRoll(typeID)) {
+            clearUnsaved(lane);
+        }
+        states[lane] = SCAVENGE;
+    }
+
+    // returns true if the game has been won
+    private boolean resolveEndeavor(int lane) {
+        int ordinal = lastBuiltObjects[lane];
+        int roll = rolls[rollIndices[lane]++] % GameRules.getRescuePips(ordinal) + 1;
+        states[lane] = SCAVENGE;
+        return roll >= GameRules.getRescueMinimumRoll(ordinal) && finish(lane, GameOutcome.WIN);
+    }
+
+    private boolean finish(int lane, GameOutcome outcome) {
+        outcomes[lane] = (byte) outcome.ordinal();
+        states[lane] = (byte) GameState.END.ordinal();
+        return true;
+    }
+
+    // the same rules as in the resource ledger of the scavenger
+    private void add(int lane, int typeID) {
+        resources[lane * AMOUNT_OF_DIFFERENT_RESOURCES + typeID]++;
+        if ((builtMasks[lane] & BuildableObject.SHACK.getMask()) == 0) {
+            pushUnsaved(lane, typeID);
+            return;
+        }
+        int shackBase = lane * SHACK_CAPACITY;
+        if (shackSizes[lane] == SHACK_CAPACITY) {
+            // then the first card in the shack has to go to the unsaved resources
+            pushUnsaved(lane, shacks[shackBase + shackHeads[lane]]);
+            shackHeads[lane] = (shackHeads[lane] + 1) % SHACK_CAPACITY;
+            shackSizes[lane]--;
+        }
+        shacks[shackBase + (shackHeads[lane] + shackSizes[lane]) % SHACK_CAPACITY] = (byte) typeID;
+        shackSizes[lane]++;
+    }
+
+    private void build(int lane, int ordinal) {
+        builtMasks[lane] |= 1 << ordinal;
+        lastBuiltObjects[lane] = (byte) ordinal;
+        fightBonuses[lane] = (byte) Math.max(fightBonuses[lane], GameRules.getFightBonus(ordinal));
+
+        int base = lane * AMOUNT_OF_DIFFERENT_RESOURCES;
+        int total = 0;
+        for (int typeID = 0; typeID < AMOUNT_OF_DIFFERENT_RESOURCES; typeID++) {
+            int needed = GameRules.getRecipe(ordinal, typeID);
+            stillNeeded[typeID] = needed;
+            resources[base + typeID] -= needed;
+            total += needed;
+        }
+        if ((builtMasks[lane] & BuildableObject.SHACK.getMask()) != 0) {
+            total = consumeFromShack(lane, total);
+        }
+        consumeFromUnsaved(lane, total);
+        if ((builtMasks[lane] & BuildableObject.SHACK.getMask()) != 0) {
+            fillShack(lane);
+        }
+    }
+
+    // consumes from the last resource in the shack on and keeps the order of the remaining ones
+    private int consumeFromShack(int lane, int total) {
+        int shackBase = lane * SHACK_CAPACITY;
+        int head = shackHeads[lane];
+        int read = shackSizes[lane] - 1;
+        int write = read;
+        while (total > 0 && read >= 0) {
+            int typeID = shacks[shackBase + (head + read--) % SHACK_CAPACITY];
+            if (stillNeeded[typeID] > 0) {
+                stillNeeded[typeID]--;
+                total--;
+            } else {
+                shacks[shackBase + (head + write--) % SHACK_CAPACITY] = (byte) typeID;
+            }
+        }
+        while (read >= 0) {
+            shacks[shackBase + (head + write--) % SHACK_CAPACITY] = shacks[shackBase + (head + read--) % SHACK_CAPACITY];
+        }
+        int removed = write + 1;
+        shackHeads[lane] = (head + removed) % SHACK_CAPACITY;
+        shackSizes[lane] -= removed;
+        return total;
+    }
+
+    // consumes from the most recent unsaved resource on
+    private void consumeFromUnsaved(int lane, int total) {
+        int unsavedBase = lane * CAPACITY;
+        int base = lane * AMOUNT_OF_DIFFERENT_RESOURCES;
+        int size = unsavedSizes[lane];
+        int read = size - 1;
+        int write = read;
+        while (total > 0 && read >= 0) {
+            int typeID = unsaved[unsavedBase + read--];
+            if (stillNeeded[typeID] > 0) {
+                stillNeeded[typeID]--;
+                unsavedByTypeID[base + typeID]--;
+                total--;
+            } else {
+                unsaved[unsavedBase + write--] = (byte) typeID;
+            }
+        }
+        int kept = size - 1 - write;
+        System.arraycopy(unsaved, unsavedBase + write + 1, unsaved, unsavedBase + read + 1, kept);
+        unsavedSizes[lane] = read + 1 + kept;
+    }
+
+    // moves the most recent unsaved resources to the shack while there is space
+    private void fillShack(int lane) {
+        int shackBase = lane * SHACK_CAPACITY;
+        int unsavedBase = lane * CAPACITY;
+        while (shackSizes[lane] < SHACK_CAPACITY && unsavedSizes[lane] > 0) {
+            int typeID = unsaved[unsavedBase + --unsavedSizes[lane]];
+            unsavedByTypeID[lane * AMOUNT_OF_DIFFERENT_RESOURCES + typeID]--;
+            shackHeads[lane] = (shackHeads[lane] + SHACK_CAPACITY - 1) % SHACK_CAPACITY;
+            shacks[shackBase + shackHeads[lane]] = (byte) typeID;
+            shackSizes[lane]++;
+        }
+    }
+
+    private void clearUnsaved(int lane) {
+        int base = lane * AMOUNT_OF_DIFFERENT_RESOURCES;
+        for (int typeID = 0; typeID < AMOUNT_OF_DIFFERENT_RESOURCES; typeID++) {
+            resources[base + typeID] -= unsavedByTypeID[base + typeID];
+            unsavedByTypeID[base + typeID] = 0;
+        }
+        unsavedSizes[lane] = 0;
+    }
+
+    private void pushUnsaved(int lane, int typeID) {
+        unsaved[lane * CAPACITY + unsavedSizes[lane]++] = (byte) typeID;
+        unsavedByTypeID[lane * AMOUNT_OF_DIFFERENT_RESOURCES + typeID]++;
+    }
+
+    // the first object of the priorities that is in the mask, for every mask
+    private static byte[] createChoices(BuildableObject[] priorities) {
+        byte[] choices = new byte[1 << AMOUNT_OF_BUILDABLE_OBJECTS];
+        for (int mask = 0; mask < choices.length; mask++) {
+            choices[mask] = NO_CHOICE;
+            for (BuildableObject buildableObject : priorities) {
+                if ((mask & buildableObject.getMask()) != 0) {
+                    choices[mask] = (byte) buildableObject.ordinal();
+                    break;
+                }
+            }
+        }
+        return choices;
+    }
+
+    /**
+     * Simulates a deck with the greedy policy, prints the result and compares a part of
+     * the games with the card game manager.
+     *
+     * @param args the number of games, the cards as a comma separated string and optionally the seed
+     */
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            Terminal.printError("required arguments: <games> <card1,card2,...,card64> [seed]");
+            return;
+        }
+        long games;
+        long seed;
+        Deck deck;
+        try {
+            games = Long.parseLong(args[0]);
+            seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+            deck = Deck.parse(args[1]);
+        } catch (NumberFormatException nfe) {
+            Terminal.printError("cannot parse number");
+            return;
+        } catch (CardStackException e) {
+            Terminal.printError(e.getMessage());
+            return;
+        }
+        BatchSimulator simulator = new BatchSimulator(deck, PriorityBuildPolicy.GREEDY);
+        long start = System.nanoTime();
+        SimulationResult result = simulator.simulate(games, seed);
+        double seconds = (System.nanoTime() - start) / NANOS_PER_SECOND;
+        Terminal.printLine(result);
+        Terminal.printLine(String.format("%.0f games per second", result.getGames() / seconds));
+        long checkedGames = Math.min(games, 10 * DEFAULT_BATCH_SIZE);
+        Terminal.printLine(String.format("%d of %d games differ from the card game manager",
+                simulator.crossCheck(checkedGames, seed), checkedGames));
+    }
+
+    /**
+     * A dice source that replays the dice of one lane.
+     */
+    private final class LaneDiceSource implements DiceSource {
+
+        private int nextRoll;
+
+        @Override
+        public int roll(int numOfPips) {
+            return rolls[nextRoll++] % numOfPips + 1;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package simulation;
+
+import controller.Backend;
+import model.BuildableObject;
+
+import java.util.List;
+
+/**
+ * Defines the method signature of a build policy.
+ * A build policy decides what a simulated player builds before drawing the next card.
+ *
+ * @author Moritz
+ * @version 1.0
+ * @see MonteCarloSimulator
+ */
+public interface BuildPolicy {
+
+    /**
+     * Chooses the object to build next.
+     *
+     * @param buildableObjects all objects that can be built right now, never empty
+     * @param backend          the backend of the game, e.g. to look at the resources
+     * @return the object to build - or null if the player should draw a card instead
+     */
+    BuildableObject chooseBuild(List<BuildableObject> buildableObjects, Backend backend);
+}
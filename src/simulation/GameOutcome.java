@@ -0,0 +1,26 @@
+package simulation;
+
+/**
+ * Defines the possible outcomes of a simulated game.
+ *
+ * @author Moritz
+ * @version 1.0
+ */
+public enum GameOutcome {
+
+    /**
+     * The player built a rescue and escaped.
+     */
+    WIN,
+
+    /**
+     * The player has no cards left and cannot build anything, e.g. the game printed "lost".
+     */
+    LOST,
+
+    /**
+     * The player has no cards left, but the build policy refuses to build any of the
+     * objects that could still be built. The game cannot continue.
+     */
+    STUCK
+}
@@ -0,0 +1,188 @@
+package simulation;
+
+import controller.Backend;
+import controller.CardGameManager;
+import controller.Deck;
+import controller.dice.BatchDiceSource;
+import edu.kit.informatik.Terminal;
+import model.BuildableObject;
+import model.GameState;
+import model.exceptions.CardStackException;
+import model.exceptions.IllegalGameStateException;
+import model.exceptions.RollDiceException;
+import model.exceptions.ScavengerException;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * The monte carlo simulator estimates how winnable a deck is by playing many games with random dice.
+ *
+ * The games are played by {@link CardGameManager} with the same rules as on the command line.
+ * A {@link BuildPolicy} decides what is built. The games are split between the threads of a
+ * fork/join pool, each part of the games uses its own split of the random number generator,
+ * so a simulation with the same seed always has the same result.
+ *
+ * @author Moritz
+ * @version 1.0
+ */
+public class MonteCarloSimulator {
+
+    // the number of games that a task plays without splitting them further
+    private static final int GAMES_PER_TASK = 10_000;
+
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    private final Deck deck;
+    private final BuildPolicy policy;
+
+    /**
+     * Creates a new monte carlo simulator.
+     *
+     * @param deck   the deck to simulate
+     * @param policy the build policy of the simulated player
+     */
+    public MonteCarloSimulator(Deck deck, BuildPolicy policy) {
+        this.deck = deck;
+        this.policy = policy;
+    }
+
+    /**
+     * Simulates the given number of games on all cores.
+     *
+     * @param games the number of games
+     * @param seed  the seed of the random dice
+     * @return the result of the simulation
+     */
+    public SimulationResult simulate(long games, long seed) {
+        return ForkJoinPool.commonPool().invoke(new SimulationTask(games, new SplittableRandom(seed)));
+    }
+
+    /**
+     * Plays the given number of games one after another.
+     *
+     * @param games  the number of games
+     * @param random the random number generator for the dice
+     * @return the result of the games
+     */
+    SimulationResult simulateSequentially(long games, SplittableRandom random) {
+        long[] outcomes = new long[GameOutcome.values().length];
+        CardGameManager backend = new CardGameManager();
+        backend.setDiceSource(new BatchDiceSource(random, BatchDiceSource.DEFAULT_BATCH_SIZE));
+        try {
+            backend.start(deck);
+            for (long i = 0; i < games; i++) {
+                outcomes[playGame(backend).ordinal()]++;
+            }
+        } catch (IllegalGameStateException | RollDiceException | ScavengerException e) {
+            // the simulated player only chooses allowed actions
+            throw new IllegalStateException("simulated player made an illegal move: " + e.getMessage());
+        }
+        return SimulationResult.of(outcomes);
+    }
+
+    /**
+     * Plays one game from the start of the deck until it ends.
+     *
+     * @param backend the backend, which has to be started already, it rolls the dice itself
+     * @return the outcome of the game
+     * @throws IllegalGameStateException if the player chose an action that is not allowed
+     * @throws RollDiceException         if the player chose the wrong dice
+     * @throws ScavengerException        if the player chose an object that cannot be built
+     */
+    GameOutcome playGame(Backend backend)
+            throws IllegalGameStateException, RollDiceException, ScavengerException {
+        backend.reset();
+        while (true) {
+            switch (backend.getGameState()) {
+                case SCAVENGE:
+                    List<BuildableObject> buildableObjects = backend.getAllBuildableObjectsAsList();
+                    BuildableObject choice = buildableObjects.isEmpty()
+                            ? null : policy.chooseBuild(buildableObjects, backend);
+                    if (choice != null) {
+                        backend.build(choice);
+                        if (backend.getGameState() == GameState.WIN) {
+                            return GameOutcome.WIN;
+                        }
+                        break;
+                    }
+                    if (backend.draw() == null) {
+                        return backend.noActionPossible() ? GameOutcome.LOST : GameOutcome.STUCK;
+                    }
+                    backend.setGameState(backend.getGameState().resolve());
+                    break;
+                case ENCOUNTER:
+                    backend.rollDice();
+                    break;
+                case ENDEAVOR:
+                    if (backend.rollDice() == GameState.WIN) {
+                        return GameOutcome.WIN;
+                    }
+                    break;
+                default:
+                    return GameOutcome.LOST;
+            }
+        }
+    }
+
+    /**
+     * Simulates a deck and prints the result.
+     *
+     * @param args the number of games, the cards as a comma separated string and optionally the seed
+     */
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            Terminal.printError("required arguments: <games> <card1,card2,...,card64> [seed]");
+            return;
+        }
+        long games;
+        long seed;
+        Deck deck;
+        try {
+            games = Long.parseLong(args[0]);
+            seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+            deck = Deck.parse(args[1]);
+        } catch (NumberFormatException nfe) {
+            Terminal.printError("cannot parse number");
+            return;
+        } catch (CardStackException e) {
+            Terminal.printError(e.getMessage());
+            return;
+        }
+        long start = System.nanoTime();
+        SimulationResult result = new MonteCarloSimulator(deck, PriorityBuildPolicy.GREEDY).simulate(games, seed);
+        double seconds = (System.nanoTime() - start) / NANOS_PER_SECOND;
+        Terminal.printLine(result);
+        Terminal.printLine(String.format("%.0f games per second", result.getGames() / seconds));
+    }
+
+    /**
+     * A task that plays a part of the games, splitting it further if it is too large.
+     */
+    private final class SimulationTask extends RecursiveTask<SimulationResult> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final long games;
+        private final SplittableRandom random;
+
+        SimulationTask(long games, SplittableRandom random) {
+            this.games = games;
+            this.random = random;
+        }
+
+        @Override
+        protected SimulationResult compute() {
+            if (games <= GAMES_PER_TASK) {
+                return simulateSequentially(games, random);
+            }
+            long half = games / 2;
+            SimulationTask left = new SimulationTask(half, random.split());
+            SimulationTask right = new SimulationTask(games - half, random);
+            left.fork();
+            return right.compute().merge(left.join());
+        }
+    }
+}
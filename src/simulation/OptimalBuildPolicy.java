@@ -0,0 +1,37 @@
+package simulation;
+
+import controller.Backend;
+import controller.CardGameManager;
+import controller.ExpectimaxSolver;
+import model.BuildableObject;
+
+import java.util.List;
+
+/**
+ * A build policy that follows the best actions of an {@link ExpectimaxSolver}.
+ * It only works with a {@link CardGameManager} that plays the deck of the solver.
+ *
+ * @author Moritz
+ * @version 1.0
+ */
+public class OptimalBuildPolicy implements BuildPolicy {
+
+    private final ExpectimaxSolver solver;
+
+    /**
+     * Creates a new optimal build policy.
+     *
+     * @param solver the solver of the deck that is played
+     */
+    public OptimalBuildPolicy(ExpectimaxSolver solver) {
+        this.solver = solver;
+    }
+
+    @Override
+    public BuildableObject chooseBuild(List<BuildableObject> buildableObjects, Backend backend) {
+        if (!(backend instanceof CardGameManager)) {
+            throw new IllegalArgumentException("the optimal build policy needs a card game manager.");
+        }
+        return solver.getBestAction((CardGameManager) backend);
+    }
+}
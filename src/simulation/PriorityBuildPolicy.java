@@ -0,0 +1,62 @@
+package simulation;
+
+import controller.Backend;
+import model.BuildableObject;
+
+import java.util.List;
+
+import static model.BuildableObject.AXE;
+import static model.BuildableObject.BALLON;
+import static model.BuildableObject.CLUB;
+import static model.BuildableObject.FIREPLACE;
+import static model.BuildableObject.HANG_GLIDER;
+import static model.BuildableObject.SAILING_RAFT;
+import static model.BuildableObject.SHACK;
+import static model.BuildableObject.STEAM_BOAT;
+
+/**
+ * A build policy that always builds the first object of a fixed priority list that can be built.
+ * Objects that are not in the list are never built.
+ *
+ * @author Moritz
+ * @version 1.0
+ */
+public class PriorityBuildPolicy implements BuildPolicy {
+
+    /**
+     * Builds the rescues that win without rolling the dice first, then the other rescues,
+     * then the objects that help to survive until a rescue can be built.
+     */
+    public static final PriorityBuildPolicy GREEDY = new PriorityBuildPolicy(
+            BALLON, STEAM_BOAT, HANG_GLIDER, SAILING_RAFT, FIREPLACE, SHACK, AXE, CLUB);
+
+    private final BuildableObject[] priorities;
+
+    /**
+     * Creates a new priority build policy.
+     *
+     * @param priorities the objects to build, the most important one first
+     */
+    public PriorityBuildPolicy(BuildableObject... priorities) {
+        this.priorities = priorities.clone();
+    }
+
+    /**
+     * Returns the objects to build, the most important one first.
+     *
+     * @return the priorities of this policy
+     */
+    BuildableObject[] getPriorities() {
+        return priorities.clone();
+    }
+
+    @Override
+    public BuildableObject chooseBuild(List<BuildableObject> buildableObjects, Backend backend) {
+        for (BuildableObject buildableObject : priorities) {
+            if (buildableObjects.contains(buildableObject)) {
+                return buildableObject;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,144 @@
+package simulation;
+
+/**
+ * The result of simulated games, e.g. how often each {@link GameOutcome} occurred.
+ *
+ * The rates are reported with their 95% confidence interval, which is
+ * computed with the Wilson score interval.
+ *
+ * @author Moritz
+ * @version 1.0
+ */
+public final class SimulationResult {
+
+    // the z value of the 95% confidence level
+    private static final double Z = 1.959963984540054;
+
+    private static final double PERCENT = 100.0;
+
+    // the amount of games by outcome ordinal
+    private final long[] outcomes;
+
+    /**
+     * Creates an empty simulation result.
+     */
+    public SimulationResult() {
+        this.outcomes = new long[GameOutcome.values().length];
+    }
+
+    private SimulationResult(long[] outcomes) {
+        this.outcomes = outcomes;
+    }
+
+    /**
+     * Creates a result from the given amount of games by outcome ordinal.
+     *
+     * @param outcomes the amount of games by outcome ordinal
+     * @return the result
+     */
+    static SimulationResult of(long[] outcomes) {
+        return new SimulationResult(outcomes.clone());
+    }
+
+    /**
+     * Returns a new result that contains the games of both results.
+     *
+     * @param other the other result
+     * @return the merged result
+     */
+    public SimulationResult merge(SimulationResult other) {
+        long[] result = outcomes.clone();
+        for (int i = 0; i < result.length; i++) {
+            result[i] += other.outcomes[i];
+        }
+        return new SimulationResult(result);
+    }
+
+    /**
+     * Returns the number of simulated games.
+     *
+     * @return the number of games
+     */
+    public long getGames() {
+        long games = 0;
+        for (long amount : outcomes) {
+            games += amount;
+        }
+        return games;
+    }
+
+    /**
+     * Returns how often the given outcome occurred.
+     *
+     * @param outcome the outcome
+     * @return the amount of games with this outcome
+     */
+    public long getCount(GameOutcome outcome) {
+        return outcomes[outcome.ordinal()];
+    }
+
+    /**
+     * Returns the rate of the given outcome.
+     *
+     * @param outcome the outcome
+     * @return the rate between 0 and 1
+     */
+    public double getRate(GameOutcome outcome) {
+        long games = getGames();
+        return games == 0 ? 0 : (double) getCount(outcome) / games;
+    }
+
+    /**
+     * Returns the lower bound of the 95% confidence interval of the rate of the given outcome.
+     *
+     * @param outcome the outcome
+     * @return the lower bound between 0 and 1
+     */
+    public double getLowerBound(GameOutcome outcome) {
+        return getCenter(outcome) - getHalfWidth(outcome);
+    }
+
+    /**
+     * Returns the upper bound of the 95% confidence interval of the rate of the given outcome.
+     *
+     * @param outcome the outcome
+     * @return the upper bound between 0 and 1
+     */
+    public double getUpperBound(GameOutcome outcome) {
+        return getCenter(outcome) + getHalfWidth(outcome);
+    }
+
+    // the center of the wilson score interval
+    private double getCenter(GameOutcome outcome) {
+        double games = getGames();
+        if (games == 0) {
+            return 0;
+        }
+        return (getRate(outcome) + Z * Z / (2 * games)) / (1 + Z * Z / games);
+    }
+
+    // the half width of the wilson score interval
+    private double getHalfWidth(GameOutcome outcome) {
+        double games = getGames();
+        if (games == 0) {
+            return 0;
+        }
+        double rate = getRate(outcome);
+        return Z / (1 + Z * Z / games)
+                * Math.sqrt(rate * (1 - rate) / games + Z * Z / (4 * games * games));
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("games: %d", getGames()));
+        for (GameOutcome outcome : GameOutcome.values()) {
+            sb.append(String.format("%n%s: %.4f%% (95%% CI %.4f%% - %.4f%%)",
+                    outcome.name().toLowerCase(),
+                    PERCENT * getRate(outcome),
+                    PERCENT * getLowerBound(outcome),
+                    PERCENT * getUpperBound(outcome)));
+        }
+        return sb.toString();
+    }
+}
@@ -70,6 +70,18 @@ public interface Frontend {
      */
     void showError(String error);
 
+    /**
+     * Shows the user an error message, because a command has been rejected by the given exception.
+     *
+     * @param exception the exception that rejected the command
+     */
+    void showRejection(Exception exception);
+
+    /**
+     * Shows the user the statistics of the executed commands.
+     */
+    void showStatistics();
+
     /**
      * Shows all resources that the user has drawn until this point of time.
      *
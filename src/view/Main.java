@@ -1,7 +1,29 @@
 package view;
 
 import controller.CardGameManager;
+import edu.kit.informatik.Terminal;
 import view.cli.CommandLineInterface;
+import view.cli.CommandPipeline;
+import view.io.BufferedOutputSink;
+import view.io.ChannelLineSource;
+import view.io.LineSource;
+import view.io.MappedLineSource;
+import view.io.OutputSink;
+import view.io.TerminalLineSource;
+import view.io.TerminalSink;
+import view.metrics.CommandMetrics;
+import view.metrics.MetricsFileWriter;
+
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
 
 /**
  * The Main class.
@@ -11,15 +33,140 @@ import view.cli.CommandLineInterface;
  */
 public final class Main {
 
+    // the option that enables the periodic metrics file and its interval in seconds
+    private static final String METRICS_FILE_OPTION = "--metrics-file";
+    private static final String METRICS_INTERVAL_OPTION = "--metrics-interval";
+    private static final long DEFAULT_METRICS_INTERVAL_SECONDS = 10;
+
+    // the option that reads, executes and writes the commands on separate threads
+    private static final String PIPELINED_OPTION = "--pipelined";
+
+    // the options that run the commands of a file and write the output to a file
+    private static final String SCRIPT_OPTION = "--script";
+    private static final String OUTPUT_OPTION = "--output";
+
+    private static final double NANOS_PER_SECOND = 1e9;
+
     private Main() {
     }
 
     /**
      * Starts the program.
      *
-     * @param args - ignored
+     * @param args optionally "--metrics-file &lt;path&gt;" to write the command metrics periodically
+     *             in the OpenMetrics text format, "--metrics-interval &lt;seconds&gt;", "--pipelined"
+     *             to read, execute and write the commands on separate threads, "--script &lt;path&gt;"
+     *             to run the commands of a file instead of the standard input and "--output &lt;path&gt;"
+     *             to write the output to a file instead of the standard output
      */
     public static void main(String[] args) {
-        new CommandLineInterface(new CardGameManager()).run();
+        String metricsFile = null;
+        long metricsInterval = DEFAULT_METRICS_INTERVAL_SECONDS;
+        boolean pipelined = false;
+        String scriptFile = null;
+        String outputFile = null;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals(PIPELINED_OPTION)) {
+                pipelined = true;
+                continue;
+            }
+            if (!args[i].equals(METRICS_FILE_OPTION) && !args[i].equals(METRICS_INTERVAL_OPTION)
+                    && !args[i].equals(SCRIPT_OPTION) && !args[i].equals(OUTPUT_OPTION)) {
+                Terminal.printError("unknown option: " + args[i]);
+                return;
+            }
+            if (i + 1 == args.length) {
+                Terminal.printError("missing value of the option " + args[i]);
+                return;
+            }
+            String option = args[i];
+            String value = args[++i];
+            if (option.equals(METRICS_FILE_OPTION)) {
+                metricsFile = value;
+            } else if (option.equals(SCRIPT_OPTION)) {
+                scriptFile = value;
+            } else if (option.equals(OUTPUT_OPTION)) {
+                outputFile = value;
+            } else {
+                try {
+                    metricsInterval = Long.parseLong(value);
+                } catch (NumberFormatException nfe) {
+                    Terminal.printError("cannot parse number");
+                    return;
+                }
+                if (metricsInterval <= 0) {
+                    Terminal.printError("the metrics interval has to be positive");
+                    return;
+                }
+            }
+        }
+
+        // piped or scripted: the output is buffered and written once the input goes idle
+        boolean buffered = scriptFile != null || outputFile != null || System.console() == null;
+        LineSource input;
+        WritableByteChannel outputChannel;
+        try {
+            input = openInput(scriptFile, buffered);
+            outputChannel = openOutput(outputFile);
+        } catch (IOException e) {
+            Terminal.printError("cannot open the file: " + e.getMessage());
+            return;
+        }
+        OutputSink output = buffered ? new BufferedOutputSink(outputChannel) : new TerminalSink();
+
+        CommandMetrics metrics = new CommandMetrics();
+        MetricsFileWriter writer = metricsFile == null
+                ? null : new MetricsFileWriter(metrics, Paths.get(metricsFile), metricsInterval);
+        long start = System.nanoTime();
+        if (pipelined) {
+            try {
+                new CommandPipeline(new CardGameManager(), metrics, input, output).run();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        } else {
+            new CommandLineInterface(new CardGameManager(), metrics, input, output).run();
+        }
+        double seconds = (System.nanoTime() - start) / NANOS_PER_SECOND;
+
+        if (buffered && ((BufferedOutputSink) output).checkError()) {
+            Terminal.printError("cannot write the output");
+        }
+        try {
+            if (outputFile != null) {
+                outputChannel.close();
+            }
+            if (scriptFile != null) {
+                MappedLineSource script = (MappedLineSource) input;
+                script.close();
+                // the report follows the output of the commands, which has been written at this point
+                Terminal.printLine(String.format(Locale.ROOT, "%d commands in %.3f s, %.0f commands per second",
+                        script.getLinesRead(), seconds, script.getLinesRead() / seconds));
+            }
+            if (writer != null) {
+                writer.close();
+            }
+        } catch (IOException e) {
+            Terminal.printError("cannot close the file: " + e.getMessage());
+        }
+    }
+
+    // the script file is mapped, other input is read in chunks unless a user types it
+    private static LineSource openInput(String scriptFile, boolean buffered) throws IOException {
+        if (scriptFile != null) {
+            return new MappedLineSource(Paths.get(scriptFile));
+        }
+        if (buffered) {
+            return new ChannelLineSource(new FileInputStream(FileDescriptor.in).getChannel());
+        }
+        return new TerminalLineSource();
+    }
+
+    private static WritableByteChannel openOutput(String outputFile) throws IOException {
+        if (outputFile != null) {
+            return FileChannel.open(Paths.get(outputFile), StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        }
+        return Channels.newChannel(new FileOutputStream(FileDescriptor.out));
     }
 }
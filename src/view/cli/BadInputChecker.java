@@ -50,6 +50,11 @@ public enum BadInputChecker {
      */
     RESET("reset", NO_ARGUMENTS_ALLOWED),
 
+    /**
+     * Help string for the stats command.
+     */
+    STATS("stats", NO_ARGUMENTS_ALLOWED),
+
     /**
      * Help string for the quit command.
      */
@@ -73,11 +78,30 @@ public enum BadInputChecker {
     /**
      * Checks if the given input is completely invalid or if it happens to be the start of a valid command.
      *
-     * @param input the invalid input
+     * @param input  the invalid input
+     * @param offset the index of the first character of the input that is not whitespace
+     * @param end    the index after the last character of the input that is not whitespace
      * @return true if it is the start of a valid command
      */
-    boolean checkInvalidInput(String input) {
-        return (input.startsWith(command));
+    boolean checkInvalidInput(CharSequence input, int offset, int end) {
+        if (end - offset < command.length()) {
+            return false;
+        }
+        for (int i = 0; i < command.length(); i++) {
+            if (input.charAt(offset + i) != command.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the start of the according command.
+     *
+     * @return the command as a string
+     */
+    String getCommand() {
+        return command;
     }
 
     /**
@@ -1,6 +1,8 @@
 package view.cli;
 
 import controller.Backend;
+import controller.Deck;
+import controller.DeckCache;
 import model.BuildableObject;
 import model.Card;
 import model.CardType;
@@ -12,14 +14,13 @@ import model.exceptions.RollDiceException;
 import model.exceptions.ScavengerException;
 import view.Frontend;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import static model.GameState.CATASTROPHE;
 import static model.GameState.END;
-import static model.GameState.SCAVENGE;
-import static model.GameState.WIN;
 import static view.Frontend.OK;
 
 /**
@@ -33,17 +34,21 @@ public enum CardGameCommand implements Command {
     /**
      * Starts the game.
      *
-     * The user has to provide the 64 cards.
+     * The user has to provide the 64 cards. The cards are scanned by hand instead of a regex,
+     * see {@link #parseStart(CharSequence)}.
      */
-    START("^start ([\\w\\s,]+)$") {
+    START(BadInputChecker.START) {
         @Override
-        public void execute(Frontend frontend, Backend backend) throws BadInputException {
-            String[] input = getArguments();
-            String[] cards = input[0].split(",");
+        ParsedCommand parseArguments(CharSequence input) throws BadInputException {
+            return parseStart(input);
+        }
+
+        @Override
+        public void execute(ParsedCommand parsedCommand, Frontend frontend, Backend backend) {
             try {
-                backend.start(parseCards(cards));
+                startWithDeck(backend, parsedCommand.getCards(), parsedCommand.getCardAmounts());
             } catch (CardStackException | IllegalGameStateException e) {
-                frontend.showError(e.getMessage());
+                frontend.showRejection(e);
                 return;
             }
             frontend.showMessage(OK);
@@ -54,18 +59,19 @@ public enum CardGameCommand implements Command {
      * Rolls the dice.
      * The user has to provide the dice (number of pips) and the rolled number
      */
-    ROLLDX("^rollD[+]?[0]*(4|6|8) ([+]?[0]*\\d+)$") {
+    ROLLDX("^rollD[+]?[0]*(4|6|8) ([+]?[0]*\\d+)$", BadInputChecker.ROLLDX) {
         @Override
-        public void execute(Frontend frontend, Backend backend) throws BadInputException {
-            final String[] arguments = getArguments();
-            int numOfPips = parseInteger(arguments[0]);
-            int roll = parseInteger(arguments[1]);
+        ParsedCommand createParsedCommand(Matcher matcher) throws BadInputException {
+            return new ParsedCommand(this, parseInteger(matcher.group(1)), parseInteger(matcher.group(2)));
+        }
 
+        @Override
+        public void execute(ParsedCommand parsedCommand, Frontend frontend, Backend backend) {
             GameState result;
             try {
-                result = backend.rollDice(numOfPips, roll);
+                result = backend.rollDice(parsedCommand.getNumOfPips(), parsedCommand.getRoll());
             } catch (IllegalGameStateException | RollDiceException e) {
-                frontend.showError(e.getMessage());
+                frontend.showRejection(e);
                 return;
             }
             // first show the result of the roll
@@ -84,14 +90,14 @@ public enum CardGameCommand implements Command {
      * Draws the next card.
      * No arguments allowed.
      */
-    DRAW("^draw$") {
+    DRAW("^draw$", BadInputChecker.DRAW) {
         @Override
-        public void execute(Frontend frontend, Backend backend) {
+        public void execute(ParsedCommand parsedCommand, Frontend frontend, Backend backend) {
             Card card;
             try {
                 card = backend.draw();
             } catch (IllegalGameStateException e) {
-                frontend.showError(e.getMessage());
+                frontend.showRejection(e);
                 return;
             }
             if (card == null) {
@@ -104,11 +110,9 @@ public enum CardGameCommand implements Command {
 
             GameState stateAfterDraw = backend.getGameState();
 
-            if (stateAfterDraw == CATASTROPHE) {
-                // if a thunderstorm card has been drawn, the game state has to
-                // be updated to scavenge again.
-                backend.setGameState(SCAVENGE);
-            }
+            // if a thunderstorm card has been drawn, the game state has to
+            // be updated to scavenge again.
+            backend.setGameState(stateAfterDraw.resolve());
 
             // then check for empty card stack
             if (backend.noActionPossible()) {
@@ -124,20 +128,23 @@ public enum CardGameCommand implements Command {
      * Builds a buildable object.
      * The user has to provide the name of the buildable.
      */
-    BUILD("^build (\\w+)$") {
+    BUILD("^build (\\w+)$", BadInputChecker.BUILD) {
         @Override
-        public void execute(Frontend frontend, Backend backend) throws BadInputException {
-            final String[] arguments = getArguments();
+        ParsedCommand createParsedCommand(Matcher matcher) throws BadInputException {
+            return new ParsedCommand(this, parseBuildableObject(matcher.group(1)));
+        }
+
+        @Override
+        public void execute(ParsedCommand parsedCommand, Frontend frontend, Backend backend) {
             try {
-                backend.build(parseBuildableObject(arguments[0]));
+                backend.build(parsedCommand.getBuildableObject());
             } catch (IllegalGameStateException | ScavengerException e) {
-                frontend.showError(e.getMessage());
+                frontend.showRejection(e);
                 return;
             }
             frontend.showGameStateMessage(backend.getGameState());
-            if (backend.getGameState() == WIN) {
-                backend.setGameState(END);
-            }
+            // a win ends the game
+            backend.setGameState(backend.getGameState().resolve());
             if (backend.noActionPossible()) {
                 backend.setGameState(END);
                 frontend.showGameStateMessage(END);
@@ -149,13 +156,13 @@ public enum CardGameCommand implements Command {
     /**
      * Shows the user all buildables that he/she can currently build
      */
-    POSSIBLE_BUILDS("^build\\?$") {
+    POSSIBLE_BUILDS("^build\\?$", BadInputChecker.POSSIBLE_BUILDS) {
         @Override
-        public void execute(Frontend frontend, Backend backend) {
+        public void execute(ParsedCommand parsedCommand, Frontend frontend, Backend backend) {
             try {
                 frontend.showAllBuildableObjects();
             } catch (IllegalGameStateException ex) {
-                frontend.showError(ex.getMessage());
+                frontend.showRejection(ex);
             }
         }
     },
@@ -163,13 +170,13 @@ public enum CardGameCommand implements Command {
     /**
      * Lists all buildables that the player already built
      */
-    LIST_BUILDINGS("^list-buildings$") {
+    LIST_BUILDINGS("^list-buildings$", BadInputChecker.LIST_BUILDINGS) {
         @Override
-        public void execute(Frontend frontend, Backend backend) {
+        public void execute(ParsedCommand parsedCommand, Frontend frontend, Backend backend) {
             try {
                 frontend.showAllBuiltObjects();
             } catch (IllegalGameStateException ex) {
-                frontend.showError(ex.getMessage());
+                frontend.showRejection(ex);
             }
         }
     },
@@ -177,13 +184,13 @@ public enum CardGameCommand implements Command {
     /**
      * Lists all resources which the player has drawn and not used.
      */
-    LIST_RESOURCES("^list-resources$") {
+    LIST_RESOURCES("^list-resources$", BadInputChecker.LIST_RESOURCES) {
         @Override
-        public void execute(Frontend frontend, Backend backend) {
+        public void execute(ParsedCommand parsedCommand, Frontend frontend, Backend backend) {
             try {
                 frontend.showResources();
             } catch (IllegalGameStateException ex) {
-                frontend.showError(ex.getMessage());
+                frontend.showRejection(ex);
             }
         }
     },
@@ -193,13 +200,13 @@ public enum CardGameCommand implements Command {
      * The player starts with the same card deck which he provided
      * in the beginning of the game
      */
-    RESET("^reset$") {
+    RESET("^reset$", BadInputChecker.RESET) {
         @Override
-        public void execute(Frontend frontend, Backend backend) {
+        public void execute(ParsedCommand parsedCommand, Frontend frontend, Backend backend) {
             try {
                 backend.reset();
             } catch (IllegalGameStateException e) {
-                frontend.showError(e.getMessage());
+                frontend.showRejection(e);
                 return;
             }
             frontend.showMessage(OK);
@@ -207,44 +214,141 @@ public enum CardGameCommand implements Command {
     },
 
 
+    /**
+     * Shows the user how long the commands take, which commands have been rejected
+     * and how the game state changed.
+     */
+    STATS("^stats$", BadInputChecker.STATS) {
+        @Override
+        public void execute(ParsedCommand parsedCommand, Frontend frontend, Backend backend) {
+            frontend.showStatistics();
+        }
+    },
+
     /**
      * Quits the game.
      */
-    QUIT("^quit$") {
+    QUIT("^quit$", BadInputChecker.QUIT) {
         @Override
-        public void execute(Frontend frontend, Backend backend) {
+        public void execute(ParsedCommand parsedCommand, Frontend frontend, Backend backend) {
             frontend.quit();
         }
     };
 
-    private String[] arguments;
-    private Pattern pattern;
+    // the start command is its name and a space, followed directly by the cards, which are separated by commas
+    private static final String START_PREFIX = "start ";
+
+    // the commands by the first character of their name, in the order of declaration.
+    // only characters of the ASCII range are used by the names of the commands
+    private static final int DISPATCH_TABLE_SIZE = 128;
+    private static final CardGameCommand[][] DISPATCH_TABLE = new CardGameCommand[DISPATCH_TABLE_SIZE][0];
+
+    static {
+        for (CardGameCommand command : values()) {
+            int firstChar = command.checker.getCommand().charAt(0);
+            CardGameCommand[] candidates = DISPATCH_TABLE[firstChar];
+            candidates = Arrays.copyOf(candidates, candidates.length + 1);
+            candidates[candidates.length - 1] = command;
+            DISPATCH_TABLE[firstChar] = candidates;
+        }
+    }
+
+    private final Pattern pattern;
+    private final BadInputChecker checker;
 
     /**
      * A Game command instance, e.g. one of the command defined above.
      *
-     * @param regex the regex for this command
+     * @param regex   the regex for this command
+     * @param checker the checker for wrong arguments of this command
      */
-    CardGameCommand(String regex) {
+    CardGameCommand(String regex, BadInputChecker checker) {
         pattern = Pattern.compile(regex);
+        this.checker = checker;
+    }
+
+    /**
+     * A Game command instance that parses its arguments without a regex.
+     *
+     * @param checker the checker for wrong arguments of this command
+     */
+    CardGameCommand(BadInputChecker checker) {
+        pattern = null;
+        this.checker = checker;
+    }
+
+    /**
+     * Returns the only command that the given input can belong to, which is the
+     * command whose name the input starts with. Only this command has to be parsed,
+     * the regexes of the other commands are not tried.
+     *
+     * @param input the input
+     * @return the command - or null if the input does not start with the name of a command
+     */
+    public static CardGameCommand getCommandByInput(CharSequence input) {
+        int offset = skipWhitespace(input);
+        if (offset == input.length() || input.charAt(offset) >= DISPATCH_TABLE_SIZE) {
+            return null;
+        }
+        int end = skipTrailingWhitespace(input);
+        for (CardGameCommand command : DISPATCH_TABLE[input.charAt(offset)]) {
+            if (command.checker.checkInvalidInput(input, offset, end)) {
+                return command;
+            }
+        }
+        return null;
     }
 
     @Override
-    public boolean parseInput(String input)
+    public ParsedCommand parseInput(CharSequence input)
             throws BadInputException {
-        Matcher matcher = pattern.matcher(input);
-        if (!matcher.matches()) {
-            checkCommandWithWrongArgs(this, input);
-            return false;
+        ParsedCommand parsedCommand = parseArguments(input);
+        if (parsedCommand == null) {
+            checkCommandWithWrongArgs(input);
         }
+        return parsedCommand;
+    }
 
-        arguments = new String[matcher.groupCount()];
+    /**
+     * Matches the input with the regex of this command and parses its arguments.
+     *
+     * @param input the input
+     * @return the parsed command - or null if the input does not match this command
+     * @throws BadInputException if the args of the input were invalid
+     */
+    ParsedCommand parseArguments(CharSequence input) throws BadInputException {
+        Matcher matcher = pattern.matcher(input);
+        return matcher.matches() ? createParsedCommand(matcher) : null;
+    }
 
-        for (int i = 0; i < matcher.groupCount(); i++) {
-            arguments[i] = matcher.group(i + 1);
+    // the bounds of the input without whitespace, like String#trim() the control characters count
+    // as whitespace. The input itself is not copied
+    private static int skipWhitespace(CharSequence input) {
+        int offset = 0;
+        while (offset < input.length() && input.charAt(offset) <= ' ') {
+            offset++;
         }
+        return offset;
+    }
 
-        return true;
+    private static int skipTrailingWhitespace(CharSequence input) {
+        int end = input.length();
+        while (end > 0 && input.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+
+    /**
+     * Creates the parsed command from the matched input.
+     * Commands with arguments parse them here.
+     *
+     * @param matcher the matcher of the input
+     * @return the parsed command
+     * @throws BadInputException if the args of the input were invalid
+     */
+    ParsedCommand createParsedCommand(Matcher matcher) throws BadInputException {
+        return new ParsedCommand(this);
     }
 
     /**
@@ -262,24 +366,9 @@ public enum CardGameCommand implements Command {
         return result;
     }
 
-    /**
-     * Returns the arguments as an array of strings
-     *
-     * @return the arguments
-     */
-    protected String[] getArguments() {
-        return arguments;
-    }
-
-    private void checkCommandWithWrongArgs(CardGameCommand command, String input)
+    private void checkCommandWithWrongArgs(CharSequence input)
             throws BadInputException {
-        BadInputChecker checker;
-        try {
-            checker = BadInputChecker.valueOf(command.name());
-        } catch (IllegalArgumentException iae) {
-            return;
-        }
-        if (checker.checkInvalidInput(input.trim())) {
+        if (checker.checkInvalidInput(input, skipWhitespace(input), skipTrailingWhitespace(input))) {
             throw new BadInputException("invalid arguments for this command. "
                                                 + "Required arguments: " + checker.getHelpString());
         }
@@ -303,21 +392,66 @@ public enum CardGameCommand implements Command {
     }
 
     /**
-     * Parses the cards that the user provides with the start command
+     * Starts the game with the deck of the given cards. The deck is interned in the {@link DeckCache},
+     * so all games that are started with the same cards share it. A deck that is already in the cache
+     * is neither created nor checked again.
      *
-     * @param cards the cards
-     * @return the list of parsed cards
+     * @param backend     the backend to start
+     * @param cards       the type IDs of the cards
+     * @param cardAmounts the amount of the cards of each type ID
+     * @throws CardStackException        if the number of cards is incorrect
+     * @throws IllegalGameStateException if this command is currently not allowed
+     */
+    protected void startWithDeck(Backend backend, byte[] cards, int[] cardAmounts)
+            throws CardStackException, IllegalGameStateException {
+        DeckCache cache = DeckCache.getSharedCache();
+        Deck deck = cache.get(cards);
+        if (deck == null) {
+            try {
+                deck = cache.intern(new Deck(cards, cardAmounts));
+            } catch (CardStackException e) {
+                // the backend decides whether the game state or the cards are reported
+                List<Card> cardList = new ArrayList<>(cards.length);
+                for (byte typeID : cards) {
+                    cardList.add(CardType.getCardByTypeID(typeID));
+                }
+                backend.start(cardList);
+                return;
+            }
+        }
+        backend.start(deck);
+    }
+
+    /**
+     * Parses a start command in a single pass over the input, without creating a string.
+     *
+     * Like the regex "^start ([\w\s,]+)$", the cards have to follow "start " directly. They are scanned
+     * by {@link Deck#scanCards(CharSequence, int, int[])}, which maps each card to its type ID and counts it.
+     *
+     * @param input the input
+     * @return the parsed command - or null if the input does not have the syntax of a start command
      * @throws BadInputException if cards couldn't be parsed
      */
-    protected LinkedList<Card> parseCards(String[] cards) throws BadInputException {
-        LinkedList<Card> result = new LinkedList<>();
-        for (String cardAsString : cards) {
-            Card realCard = CardType.createCardByStringValue(cardAsString);
-            if (realCard == null) {
-                throw new BadInputException("cannot parse cards");
+    static ParsedCommand parseStart(CharSequence input) throws BadInputException {
+        if (input.length() <= START_PREFIX.length() || !startsWith(input, START_PREFIX)) {
+            return null;
+        }
+        int[] cardAmounts = new int[CardType.AMOUNT_OF_CARD_TYPES];
+        byte[] cards;
+        try {
+            cards = Deck.scanCards(input, START_PREFIX.length(), cardAmounts);
+        } catch (CardStackException e) {
+            throw new BadInputException(e.getMessage());
+        }
+        return cards == null ? null : new ParsedCommand(START, cards, cardAmounts);
+    }
+
+    private static boolean startsWith(CharSequence input, String prefix) {
+        for (int i = 0; i < prefix.length(); i++) {
+            if (input.charAt(i) != prefix.charAt(i)) {
+                return false;
             }
-            result.addLast(realCard);
         }
-        return result;
+        return true;
     }
 }
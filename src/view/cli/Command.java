@@ -13,20 +13,21 @@ import view.Frontend;
 public interface Command {
     /**
      * Checks if an input matches this command
-     * and, if true, extracts its arguments for executing
+     * and, if true, parses its arguments for executing
      *
      * @param input is the input to match
-     * @return whether the input matches this command and is ready to be executed
+     * @return the parsed command - or null if the input does not match this command
      * @throws BadInputException if the args of the input were invalid
      */
-    boolean parseInput(String input) throws BadInputException;
+    ParsedCommand parseInput(CharSequence input) throws BadInputException;
 
     /**
-     * Executes this command with the given frontend and backend
+     * Executes the given parsed command with the given frontend and backend
      *
-     * @param frontend is the frontend to run on
-     * @param backend  is the backend to run on
+     * @param parsedCommand is the parsed command with its arguments
+     * @param frontend      is the frontend to run on
+     * @param backend       is the backend to run on
      * @throws BadInputException if the args of the input were invalid
      */
-    void execute(Frontend frontend, Backend backend) throws BadInputException;
+    void execute(ParsedCommand parsedCommand, Frontend frontend, Backend backend) throws BadInputException;
 }
@@ -1,15 +1,23 @@
 package view.cli;
 
 import controller.Backend;
-import edu.kit.informatik.Terminal;
+import controller.events.CommandParseFailureEvent;
+import controller.events.CommandRejectionEvent;
+import controller.events.GameEvents;
 import model.BuildableObject;
 import model.GameState;
 import model.cards.resources.Resource;
 import model.exceptions.BadInputException;
 import model.exceptions.IllegalGameStateException;
 import view.Frontend;
+import view.io.LineSource;
+import view.io.OutputSink;
+import view.io.TerminalLineSource;
+import view.io.TerminalSink;
+import view.metrics.CommandMetrics;
 
 import java.util.List;
+import java.util.Locale;
 
 
 /**
@@ -20,7 +28,12 @@ import java.util.List;
  */
 public class CommandLineInterface implements Frontend {
     private final Backend backend;
+    private final CommandMetrics metrics;
+    private final LineSource input;
+    private final OutputSink output;
     private boolean isRunning = true;
+    // the command that is being executed, so that its rejections can be told apart from parse failures
+    private CardGameCommand executingCommand;
 
     /**
      * Gets a new command lines interface instance.
@@ -28,32 +41,152 @@ public class CommandLineInterface implements Frontend {
      * @param backend the backend for this command line interface
      */
     public CommandLineInterface(Backend backend) {
+        this(backend, new CommandMetrics());
+    }
+
+    /**
+     * Gets a new command lines interface instance that records its commands in the given metrics.
+     *
+     * @param backend the backend for this command line interface
+     * @param metrics the metrics of the executed commands
+     */
+    public CommandLineInterface(Backend backend, CommandMetrics metrics) {
+        this(backend, metrics, new TerminalLineSource(), new TerminalSink());
+    }
+
+    /**
+     * Gets a new command lines interface instance without input of its own, which only executes the lines
+     * that are passed to {@link #execute(CharSequence)}, e.g. by a session of the game server.
+     *
+     * @param backend the backend for this command line interface
+     * @param metrics the metrics of the executed commands
+     * @param output  the sink of the output
+     */
+    public CommandLineInterface(Backend backend, CommandMetrics metrics, OutputSink output) {
+        this(backend, metrics, null, output);
+    }
+
+    /**
+     * Gets a new command lines interface instance that reads from the given line source and
+     * writes to the given output sink.
+     *
+     * @param backend the backend for this command line interface
+     * @param metrics the metrics of the executed commands
+     * @param input   the source of the lines of input - or null if the lines are only passed to
+     *                {@link #execute(CharSequence)}
+     * @param output  the sink of the output
+     */
+    public CommandLineInterface(Backend backend, CommandMetrics metrics, LineSource input, OutputSink output) {
         this.backend = backend;
+        this.metrics = metrics;
+        this.input = input;
+        this.output = output;
     }
 
     /**
-     * Starts the program loop and accepts user input.
+     * Starts the program loop and accepts user input until the quit command or the end of the input.
+     * The output is flushed whenever the input goes idle, so that the user sees all answers before
+     * the next line is awaited, and when the loop ends.
+     *
+     * @throws IllegalStateException if this command line interface has no input of its own
      */
     public void run() {
+        if (input == null) {
+            throw new IllegalStateException("the command line interface has no input");
+        }
+        try {
+            do {
+                if (!input.ready()) {
+                    output.flush();
+                }
+                CharSequence line = input.readLine();
+                if (line == null) {
+                    return;
+                }
+                execute(line);
+            } while (isRunning);
+        } finally {
+            output.flush();
+        }
+    }
 
-        do {
-            try {
-                parseInput(Terminal.readLine());
-            } catch (BadInputException e) {
-                this.showError(e.getMessage());
-            }
-        } while (isRunning);
+    /**
+     * Executes one line of input. If the input is invalid, the error is shown to the user.
+     *
+     * @param input the line of input
+     */
+    public void execute(CharSequence input) {
+        ParsedCommand parsedCommand;
+        try {
+            parsedCommand = parse(input);
+        } catch (BadInputException e) {
+            showRejection(e);
+            return;
+        }
+        execute(parsedCommand);
     }
 
-    private void parseInput(String input)
-            throws BadInputException {
-        for (CardGameCommand command : CardGameCommand.values()) {
-            if (command.parseInput(input)) {
-                command.execute(this, backend);
-                return;
+    /**
+     * Parses one line of input. Parsing does not depend on the state of the game,
+     * so the input can be parsed ahead of its execution by any thread.
+     * A line that cannot be parsed is recorded as a {@link CommandParseFailureEvent}.
+     *
+     * @param input the line of input
+     * @return the parsed command
+     * @throws BadInputException if the input is not a valid command
+     */
+    public static ParsedCommand parse(CharSequence input) throws BadInputException {
+        CommandParseFailureEvent event = GameEvents.isRecorded(CommandParseFailureEvent.class)
+                ? GameEvents.begin(new CommandParseFailureEvent()) : null;
+        try {
+            return parseCommand(input);
+        } catch (BadInputException e) {
+            if (GameEvents.end(event)) {
+                event.setFailure(input.toString(), e.getMessage());
+                event.commit();
             }
+            throw e;
+        }
+    }
+
+    private static ParsedCommand parseCommand(CharSequence input) throws BadInputException {
+        CardGameCommand command = CardGameCommand.getCommandByInput(input);
+        ParsedCommand parsedCommand = command == null ? null : command.parseInput(input);
+        if (parsedCommand == null) {
+            throw new BadInputException(UNKNOWN_COMMAND);
+        }
+        return parsedCommand;
+    }
+
+    /**
+     * Executes a parsed command and records it in the metrics. If the args of the command are invalid,
+     * e.g. the cards of a start command, the error is shown to the user.
+     *
+     * @param parsedCommand the parsed command
+     */
+    public void execute(ParsedCommand parsedCommand) {
+        GameState before = backend.getGameState();
+        long start = System.nanoTime();
+        executingCommand = parsedCommand.getCommand();
+        try {
+            parsedCommand.execute(this, backend);
+        } catch (BadInputException e) {
+            showRejection(e);
+            return;
+        } finally {
+            executingCommand = null;
         }
-        throw new BadInputException(UNKNOWN_COMMAND);
+        metrics.recordCommand(parsedCommand.getCommand(), System.nanoTime() - start, before,
+                backend.getGameState());
+    }
+
+    /**
+     * Returns true until the quit command has been executed.
+     *
+     * @return true if this command line interface is running
+     */
+    public boolean isRunning() {
+        return isRunning;
     }
 
     @Override
@@ -63,12 +196,33 @@ public class CommandLineInterface implements Frontend {
 
     @Override
     public void showMessage(String message) {
-        Terminal.printLine(message);
+        output.printLine(message);
     }
 
     @Override
     public void showError(String error) {
-        Terminal.printError(error);
+        output.printError(error);
+    }
+
+    @Override
+    public void showRejection(Exception exception) {
+        metrics.recordRejection(exception);
+        if (executingCommand != null && GameEvents.isRecorded(CommandRejectionEvent.class)) {
+            CommandRejectionEvent event = new CommandRejectionEvent();
+            if (event.shouldCommit()) {
+                event.setRejection(executingCommand.name().toLowerCase(Locale.ROOT),
+                        exception.getClass().getSimpleName(), exception.getMessage());
+                event.commit();
+            }
+        }
+        showError(exception.getMessage());
+    }
+
+    @Override
+    public void showStatistics() {
+        for (String line : metrics.toLines()) {
+            showMessage(line);
+        }
     }
 
     @Override
@@ -92,12 +246,10 @@ public class CommandLineInterface implements Frontend {
             showMessage(EMPTY);
             return;
         }
-        StringBuilder sb = new StringBuilder();
+        // one line each, so that the names are printed pre-encoded
         for (BuildableObject buildableObject : buildableObjects) {
-            sb.append(buildableObject.getTypeAsString());
-            sb.append("\n");
+            showMessage(buildableObject.getTypeAsString());
         }
-        showMessage(sb.toString().trim());
     }
 
     @Override
@@ -0,0 +1,229 @@
+package view.cli;
+
+import controller.Backend;
+import model.exceptions.BadInputException;
+import view.io.LineSource;
+import view.io.OutputSink;
+import view.io.SpscRing;
+import view.metrics.CommandMetrics;
+
+/**
+ * The command pipeline runs the command line interface in three stages on separate threads.
+ *
+ * A reader thread reads and parses the lines of input, the thread that calls {@link #run()} executes the
+ * parsed commands against the backend, and a writer thread writes the responses. The stages are
+ * connected by {@link SpscRing}s, so reading and writing overlap with the game logic. There is only one
+ * executor and the responses are written in the order in which they are shown, so the output is exactly
+ * the same as that of {@link CommandLineInterface#run()}.
+ *
+ * The reader stops after it has parsed the quit command, because the quit command always ends the
+ * program. Unlike the sequential loop, the pipeline also ends at the end of the input. If the reader or
+ * the writer fails, e.g. because the input cannot be read, the pipeline ends as well and its failure is
+ * thrown by {@link #run()}.
+ *
+ * @author Moritz
+ * @version 1.0
+ */
+public final class CommandPipeline {
+
+    /**
+     * The default capacity of the rings between the stages.
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    // marks the end of the input and of the output in the rings
+    private static final Object END = new Object();
+
+    private final LineSource input;
+    private final OutputSink output;
+    private final SpscRing<Object> commands;
+    private final SpscRing<Object> responses;
+    private final CommandLineInterface commandLineInterface;
+    // a failure of the reader or the writer, which is thrown by run() once the stages have ended
+    private volatile Throwable failure;
+
+    /**
+     * Creates a new command pipeline with the default capacity.
+     *
+     * @param backend the backend that executes the commands
+     * @param metrics the metrics of the executed commands
+     * @param input   the source of the lines of input
+     * @param output  the sink of the output
+     */
+    public CommandPipeline(Backend backend, CommandMetrics metrics, LineSource input, OutputSink output) {
+        this(backend, metrics, input, output, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new command pipeline.
+     *
+     * @param backend  the backend that executes the commands
+     * @param metrics  the metrics of the executed commands
+     * @param input    the source of the lines of input
+     * @param output   the sink of the output
+     * @param capacity the capacity of the rings between the stages
+     */
+    public CommandPipeline(Backend backend, CommandMetrics metrics, LineSource input, OutputSink output,
+                           int capacity) {
+        this.input = input;
+        this.output = output;
+        this.commands = new SpscRing<>(capacity);
+        this.responses = new SpscRing<>(capacity);
+        this.commandLineInterface = new CommandLineInterface(backend, metrics, new RingSink(responses));
+    }
+
+    /**
+     * Starts the reader and the writer and executes the commands until the quit command or the end
+     * of the input. Returns once all responses have been written.
+     *
+     * @throws InterruptedException if the thread is interrupted while waiting for the other stages
+     * @throws RuntimeException     if the reader or the writer has failed, e.g. because the input cannot be read
+     */
+    public void run() throws InterruptedException {
+        // the executor is told about a failure by the end of the commands, or it stops at the next command
+        Thread reader = startStage("cli-reader", this::read, () -> commands.put(END));
+        Thread writer = startStage("cli-writer", this::write, this::discardResponses);
+        try {
+            execute();
+        } finally {
+            responses.put(END);
+            writer.join();
+            reader.interrupt();
+        }
+        Throwable stageFailure = failure;
+        if (stageFailure instanceof Error) {
+            throw (Error) stageFailure;
+        }
+        if (stageFailure != null) {
+            // a stage only declares the interrupted exception, so any other failure is unchecked
+            throw (RuntimeException) stageFailure;
+        }
+    }
+
+    private void execute() throws InterruptedException {
+        while (commandLineInterface.isRunning() && failure == null) {
+            Object command = commands.take();
+            if (command == END) {
+                return;
+            }
+            if (command instanceof BadInputException) {
+                commandLineInterface.showRejection((BadInputException) command);
+                continue;
+            }
+            commandLineInterface.execute((ParsedCommand) command);
+        }
+    }
+
+    // parses the lines, the parsed commands and the rejected input are passed on in their order
+    private void read() throws InterruptedException {
+        while (true) {
+            CharSequence line = input.readLine();
+            if (line == null) {
+                commands.put(END);
+                return;
+            }
+            try {
+                ParsedCommand parsedCommand = CommandLineInterface.parse(line);
+                commands.put(parsedCommand);
+                if (parsedCommand.getCommand() == CardGameCommand.QUIT) {
+                    return;
+                }
+            } catch (BadInputException e) {
+                commands.put(e);
+            }
+        }
+    }
+
+    // writes the responses, the output is flushed whenever no more responses are waiting
+    private void write() throws InterruptedException {
+        try {
+            while (true) {
+                Object response = responses.poll();
+                if (response == null) {
+                    output.flush();
+                    response = responses.take();
+                }
+                if (response == END) {
+                    return;
+                }
+                output.printLine((String) response);
+            }
+        } finally {
+            output.flush();
+        }
+    }
+
+    // takes the responses of a failed writer until the end, so that the executor is never blocked by them
+    private void discardResponses() throws InterruptedException {
+        while (responses.take() != END) {
+            // the output is lost with the writer
+        }
+    }
+
+    // runs the stage on a new thread, if it fails, its failure is kept and the given stage ends the pipeline
+    private Thread startStage(String name, Stage stage, Stage afterFailure) {
+        Thread thread = new Thread(() -> {
+            try {
+                stage.run();
+            } catch (InterruptedException e) {
+                // the pipeline has ended
+                Thread.currentThread().interrupt();
+            } catch (Throwable t) {
+                failure = t;
+                try {
+                    afterFailure.run();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }, name);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    /**
+     * A stage of the pipeline that runs on its own thread.
+     */
+    @FunctionalInterface
+    private interface Stage {
+        void run() throws InterruptedException;
+    }
+
+    /**
+     * The output sink of the executor, which passes the lines on to the writer.
+     * Errors are passed on with their prefix, so that the writer only has to print lines.
+     */
+    private static final class RingSink implements OutputSink {
+
+        private final SpscRing<Object> responses;
+
+        RingSink(SpscRing<Object> responses) {
+            this.responses = responses;
+        }
+
+        @Override
+        public void printLine(String line) {
+            put(line);
+        }
+
+        @Override
+        public void printError(String message) {
+            put(ERROR_PREFIX + message);
+        }
+
+        @Override
+        public void flush() {
+            // the writer flushes once no more responses are waiting
+        }
+
+        private void put(String line) {
+            try {
+                responses.put(line);
+            } catch (InterruptedException e) {
+                // the output of an interrupted pipeline is not needed anymore
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
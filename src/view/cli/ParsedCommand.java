@@ -0,0 +1,144 @@
+package view.cli;
+
+import controller.Backend;
+import model.BuildableObject;
+import model.exceptions.BadInputException;
+import view.Frontend;
+
+/**
+ * A parsed command is the immutable result of parsing one line of input.
+ * It consists of the {@link CardGameCommand} and its already parsed arguments.
+ *
+ * Since the arguments are not stored in the command itself, several threads can
+ * parse and execute commands against different backends at the same time.
+ *
+ * @author Moritz
+ * @version 1.0
+ */
+public final class ParsedCommand {
+
+    private static final int UNDEFINED = -1;
+
+    private final CardGameCommand command;
+    private final byte[] cards;
+    private final int[] cardAmounts;
+    private final int numOfPips;
+    private final int roll;
+    private final BuildableObject buildableObject;
+
+    /**
+     * Creates a parsed command without arguments.
+     *
+     * @param command the command
+     */
+    public ParsedCommand(CardGameCommand command) {
+        this(command, null, null, UNDEFINED, UNDEFINED, null);
+    }
+
+    /**
+     * Creates a parsed start command.
+     *
+     * @param command     the command
+     * @param cards       the type IDs of the cards, the top-most card first. The array is not copied
+     * @param cardAmounts the amount of the cards of each type ID. The array is not copied
+     */
+    public ParsedCommand(CardGameCommand command, byte[] cards, int[] cardAmounts) {
+        this(command, cards, cardAmounts, UNDEFINED, UNDEFINED, null);
+    }
+
+    /**
+     * Creates a parsed roll dice command.
+     *
+     * @param command   the command
+     * @param numOfPips the number of pips (the dice)
+     * @param roll      the rolled number
+     */
+    public ParsedCommand(CardGameCommand command, int numOfPips, int roll) {
+        this(command, null, null, numOfPips, roll, null);
+    }
+
+    /**
+     * Creates a parsed build command.
+     *
+     * @param command         the command
+     * @param buildableObject the object to build
+     */
+    public ParsedCommand(CardGameCommand command, BuildableObject buildableObject) {
+        this(command, null, null, UNDEFINED, UNDEFINED, buildableObject);
+    }
+
+    private ParsedCommand(CardGameCommand command, byte[] cards, int[] cardAmounts, int numOfPips, int roll,
+                          BuildableObject buildableObject) {
+        this.command = command;
+        this.cards = cards;
+        this.cardAmounts = cardAmounts;
+        this.numOfPips = numOfPips;
+        this.roll = roll;
+        this.buildableObject = buildableObject;
+    }
+
+    /**
+     * Executes this command with the given frontend and backend
+     *
+     * @param frontend is the frontend to run on
+     * @param backend  is the backend to run on
+     * @throws BadInputException if the args of the input were invalid
+     */
+    public void execute(Frontend frontend, Backend backend) throws BadInputException {
+        command.execute(this, frontend, backend);
+    }
+
+    /**
+     * Returns the command.
+     *
+     * @return the command
+     */
+    public CardGameCommand getCommand() {
+        return command;
+    }
+
+    /**
+     * Returns the type IDs of the cards of a start command. The array must not be changed.
+     *
+     * @return the type IDs of the cards - or null if this is not a start command
+     */
+    public byte[] getCards() {
+        return cards;
+    }
+
+    /**
+     * Returns the amount of the cards of each type ID of a start command. The array must not be changed.
+     *
+     * @return the amounts by type ID - or null if this is not a start command
+     */
+    public int[] getCardAmounts() {
+        return cardAmounts;
+    }
+
+    /**
+     * Returns the number of pips of a roll dice command.
+     *
+     * @return the number of pips
+     */
+    public int getNumOfPips() {
+        return numOfPips;
+    }
+
+    /**
+     * Returns the rolled number of a roll dice command.
+     *
+     * @return the rolled number
+     */
+    public int getRoll() {
+        return roll;
+    }
+
+    /**
+     * Returns the object of a build command.
+     *
+     * @return the object to build - or null if this is not a build command
+     */
+    public BuildableObject getBuildableObject() {
+        return buildableObject;
+    }
+}
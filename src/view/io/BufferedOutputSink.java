@@ -0,0 +1,139 @@
+package view.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+
+/**
+ * The buffered output sink collects the lines in a reusable byte buffer and writes them to a channel
+ * only when the buffer is full or when it is flushed, e.g. once the input goes idle.
+ *
+ * The fixed responses of the game, like OK or the names of the cards and the buildable objects,
+ * are encoded once, see {@link EncodedResponses}, so that printing them is a single copy. Other lines are
+ * copied byte by byte as long as they are ASCII. Like a print stream, the sink never throws
+ * an exception, but remembers that writing failed, see {@link #checkError()}.
+ *
+ * @author Moritz
+ * @version 1.0
+ */
+public class BufferedOutputSink implements OutputSink {
+
+    /**
+     * The default capacity of the buffer in bytes.
+     */
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    private static final byte[] LINE_SEPARATOR = EncodedResponses.getLineSeparator();
+
+    private static final byte[] ENCODED_ERROR_PREFIX = EncodedResponses.getErrorPrefix();
+
+    private static final int MAX_ASCII = 0x7F;
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer;
+    private boolean error;
+
+    /**
+     * Creates a new buffered output sink with the default capacity.
+     *
+     * @param channel the channel that the lines are written to
+     */
+    public BufferedOutputSink(WritableByteChannel channel) {
+        this(channel, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new buffered output sink.
+     *
+     * @param channel  the channel that the lines are written to
+     * @param capacity the capacity of the buffer in bytes
+     */
+    public BufferedOutputSink(WritableByteChannel channel, int capacity) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate(capacity);
+        this.error = false;
+    }
+
+    @Override
+    public void printLine(String line) {
+        byte[] encoded = EncodedResponses.getEncodedLine(line);
+        if (encoded != null) {
+            put(encoded);
+            return;
+        }
+        putText(line);
+        put(LINE_SEPARATOR);
+    }
+
+    @Override
+    public void printError(String message) {
+        put(ENCODED_ERROR_PREFIX);
+        putText(message);
+        put(LINE_SEPARATOR);
+    }
+
+    @Override
+    public void flush() {
+        buffer.flip();
+        write(buffer);
+        buffer.clear();
+    }
+
+    /**
+     * Returns true if writing to the channel has failed. The lines that could not be written are lost.
+     *
+     * @return true if an error occurred
+     */
+    public boolean checkError() {
+        return error;
+    }
+
+    // copies ASCII text directly into the buffer, anything else is encoded with the default charset
+    private void putText(String text) {
+        int length = text.length();
+        if (buffer.remaining() < length) {
+            flush();
+        }
+        if (buffer.remaining() < length) {
+            put(text.getBytes(Charset.defaultCharset()));
+            return;
+        }
+        byte[] array = buffer.array();
+        int start = buffer.arrayOffset() + buffer.position();
+        int i = 0;
+        while (i < length && text.charAt(i) <= MAX_ASCII) {
+            array[start + i] = (byte) text.charAt(i);
+            i++;
+        }
+        buffer.position(buffer.position() + i);
+        if (i < length) {
+            put(text.substring(i).getBytes(Charset.defaultCharset()));
+        }
+    }
+
+    private void put(byte[] bytes) {
+        if (buffer.remaining() < bytes.length) {
+            flush();
+            if (buffer.remaining() < bytes.length) {
+                // too large for the buffer, so it is written on its own
+                write(ByteBuffer.wrap(bytes));
+                return;
+            }
+        }
+        buffer.put(bytes);
+    }
+
+    private void write(ByteBuffer bytes) {
+        if (error) {
+            return;
+        }
+        try {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+        } catch (IOException e) {
+            this.error = true;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package view.io;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A byte line is a reusable view of one line of input in a byte buffer, which can also be a mapped file.
+ *
+ * Each byte is one character, as in ISO-8859-1. The commands of the game only consist of ASCII
+ * characters, so they are read correctly from UTF-8 input as well, and any other character cannot
+ * be part of a valid command either way. A byte line is only valid until the next line is read,
+ * a string has to be created with {@link #toString()} to keep it.
+ *
+ * @author Moritz
+ * @version 1.0
+ */
+public final class ByteLine implements CharSequence {
+
+    private ByteBuffer bytes;
+    private int offset;
+    private int length;
+
+    /**
+     * Creates a new and empty byte line.
+     */
+    public ByteLine() {
+        this.bytes = ByteBuffer.allocate(0);
+        this.offset = 0;
+        this.length = 0;
+    }
+
+    /**
+     * Lets this byte line view the given bytes. The position and limit of the buffer are not used.
+     *
+     * @param bytes  the buffer of the bytes
+     * @param offset the index of the first byte of the line in the buffer
+     * @param length the number of bytes of the line
+     */
+    public void set(ByteBuffer bytes, int offset, int length) {
+        this.bytes = bytes;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return (char) (bytes.get(offset + index) & 0xFF);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || start > end || end > length) {
+            throw new IndexOutOfBoundsException(start);
+        }
+        return toString(offset + start, end - start);
+    }
+
+    @Override
+    public String toString() {
+        return toString(offset, length);
+    }
+
+    private String toString(int from, int count) {
+        if (bytes.hasArray()) {
+            return new String(bytes.array(), bytes.arrayOffset() + from, count, StandardCharsets.ISO_8859_1);
+        }
+        byte[] copy = new byte[count];
+        bytes.get(from, copy);
+        return new String(copy, StandardCharsets.ISO_8859_1);
+    }
+}
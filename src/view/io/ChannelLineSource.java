@@ -0,0 +1,140 @@
+package view.io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * The channel line source reads the input in large chunks from a channel and finds the line
+ * boundaries in the raw bytes.
+ *
+ * Every line is returned as the same {@link ByteLine}, which views the line in the buffer, so reading
+ * a line neither decodes nor allocates anything. Lines end at a line feed, a carriage return in front
+ * of it is dropped. The buffer only grows if a single line does not fit into it.
+ *
+ * @author Moritz
+ * @version 1.0
+ */
+public class ChannelLineSource implements LineSource {
+
+    /**
+     * The default capacity of the buffer in bytes.
+     */
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    private static final byte LINE_FEED = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+
+    private static final int NOT_FOUND = -1;
+
+    private final ReadableByteChannel channel;
+    private final ByteLine line;
+    private ByteBuffer buffer;
+    private boolean endOfInput;
+
+    // the index of the next line feed in the buffer, the bytes before scanIndex contain none
+    private int lineFeedIndex;
+    private int scanIndex;
+
+    /**
+     * Creates a new channel line source with the default capacity.
+     *
+     * @param channel the channel of the input
+     */
+    public ChannelLineSource(ReadableByteChannel channel) {
+        this(channel, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new channel line source.
+     *
+     * @param channel  the channel of the input
+     * @param capacity the initial capacity of the buffer in bytes
+     */
+    public ChannelLineSource(ReadableByteChannel channel, int capacity) {
+        this.channel = channel;
+        this.line = new ByteLine();
+        this.buffer = ByteBuffer.allocate(capacity);
+        // the buffer starts empty and in the state for reading from it
+        buffer.flip();
+        this.endOfInput = false;
+        this.lineFeedIndex = NOT_FOUND;
+        this.scanIndex = 0;
+    }
+
+    @Override
+    public CharSequence readLine() {
+        while (findLineFeed() == NOT_FOUND) {
+            if (endOfInput) {
+                return buffer.hasRemaining() ? takeLine(buffer.limit(), buffer.limit()) : null;
+            }
+            fill();
+        }
+        return takeLine(lineFeedIndex, lineFeedIndex + 1);
+    }
+
+    /**
+     * Returns true if a whole line is in the buffer already or the input has ended.
+     * Whether the channel has more bytes cannot be known without reading them,
+     * so a line that has not been read into the buffer yet does not count.
+     *
+     * @return true if the next line can be read without waiting
+     */
+    @Override
+    public boolean ready() {
+        return endOfInput || findLineFeed() != NOT_FOUND;
+    }
+
+    // returns the index of the next line feed in the buffer, only the bytes that are new since the
+    // last call are scanned
+    private int findLineFeed() {
+        if (lineFeedIndex != NOT_FOUND) {
+            return lineFeedIndex;
+        }
+        byte[] array = buffer.array();
+        int limit = buffer.limit();
+        for (int i = Math.max(scanIndex, buffer.position()); i < limit; i++) {
+            if (array[i] == LINE_FEED) {
+                lineFeedIndex = i;
+                return i;
+            }
+        }
+        scanIndex = limit;
+        return NOT_FOUND;
+    }
+
+    // lets the byte line view the bytes up to the given end and skips them up to the next line
+    private ByteLine takeLine(int end, int next) {
+        byte[] array = buffer.array();
+        int start = buffer.position();
+        int lineEnd = end > start && array[end - 1] == CARRIAGE_RETURN ? end - 1 : end;
+        line.set(buffer, start, lineEnd - start);
+        buffer.position(next);
+        lineFeedIndex = NOT_FOUND;
+        return line;
+    }
+
+    // moves the rest of the buffer to its beginning and reads as much as fits behind it
+    private void fill() {
+        int scanned = scanIndex - buffer.position();
+        if (buffer.position() == 0 && buffer.limit() == buffer.capacity()) {
+            // a single line fills the whole buffer
+            ByteBuffer larger = ByteBuffer.allocate(2 * buffer.capacity());
+            larger.put(buffer);
+            buffer = larger;
+        } else {
+            buffer.compact();
+        }
+        try {
+            if (channel.read(buffer) < 0) {
+                endOfInput = true;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            buffer.flip();
+        }
+        scanIndex = scanned;
+    }
+}
@@ -0,0 +1,76 @@
+package view.io;
+
+import model.BuildableObject;
+import model.CardType;
+import view.Frontend;
+
+import java.nio.charset.Charset;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The encoded responses are the fixed responses of the game, like {@value Frontend#OK} or the names of the
+ * cards and the buildable objects, encoded once with the default charset and followed by the line separator.
+ * The returned arrays are shared, so they must not be modified.
+ *
+ * @author Moritz
+ * @version 1.0
+ */
+public abstract class EncodedResponses {
+
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(Charset.defaultCharset());
+
+    private static final byte[] ERROR_PREFIX = OutputSink.ERROR_PREFIX.getBytes(Charset.defaultCharset());
+
+    private static final Map<String, byte[]> ENCODED_LINES = new HashMap<>();
+
+    static {
+        String[] responses = {Frontend.OK, Frontend.EMPTY, Frontend.WIN, Frontend.LOSE, Frontend.SURVIVED,
+            Frontend.LOST};
+        for (String response : responses) {
+            addEncodedLine(response);
+        }
+        for (int typeID = 0; typeID < CardType.AMOUNT_OF_CARD_TYPES; typeID++) {
+            addEncodedLine(CardType.getCardByTypeID(typeID).getTypeAsString());
+        }
+        for (BuildableObject buildableObject : BuildableObject.values()) {
+            addEncodedLine(buildableObject.getTypeAsString());
+        }
+    }
+
+    /**
+     * Returns the encoded line if it is a fixed response.
+     *
+     * @param line the line
+     * @return the encoded line with its line separator - or null if it is not a fixed response
+     */
+    public static byte[] getEncodedLine(String line) {
+        return ENCODED_LINES.get(line);
+    }
+
+    /**
+     * Returns the encoded line separator.
+     *
+     * @return the line separator
+     */
+    public static byte[] getLineSeparator() {
+        return LINE_SEPARATOR;
+    }
+
+    /**
+     * Returns the encoded prefix of the error messages.
+     *
+     * @return the error prefix
+     */
+    public static byte[] getErrorPrefix() {
+        return ERROR_PREFIX;
+    }
+
+    private static void addEncodedLine(String line) {
+        byte[] text = line.getBytes(Charset.defaultCharset());
+        byte[] encoded = new byte[text.length + LINE_SEPARATOR.length];
+        System.arraycopy(text, 0, encoded, 0, text.length);
+        System.arraycopy(LINE_SEPARATOR, 0, encoded, text.length, LINE_SEPARATOR.length);
+        ENCODED_LINES.put(line, encoded);
+    }
+}
@@ -0,0 +1,27 @@
+package view.io;
+
+/**
+ * Defines the method signature of a line source.
+ * A line source provides the lines of input of the command line interface.
+ *
+ * @author Moritz
+ * @version 1.0
+ */
+public interface LineSource {
+
+    /**
+     * Reads the next line, waiting for it if necessary.
+     * The returned line may be reused by the next call, so it is only valid until then.
+     *
+     * @return the line without the line terminator - or null at the end of the input
+     */
+    CharSequence readLine();
+
+    /**
+     * Returns true if the next line can be read without waiting for more input,
+     * i.e. if the input is not idle.
+     *
+     * @return true if more input is ready
+     */
+    boolean ready();
+}
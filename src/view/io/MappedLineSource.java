@@ -0,0 +1,128 @@
+package view.io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The mapped line source reads the lines of a file that is mapped into memory.
+ *
+ * The file is mapped in windows of {@value #WINDOW_SIZE} bytes, so files of any size can be read while
+ * only the current window is mapped. Like the {@link ChannelLineSource}, every line is returned as the same
+ * {@link ByteLine}, which views the line in the mapped window. Lines end at a line feed, a carriage return
+ * in front of it is dropped. The whole file is ready to be read, so the input is never idle.
+ *
+ * @author Moritz
+ * @version 1.0
+ */
+public class MappedLineSource implements LineSource, AutoCloseable {
+
+    /**
+     * The size of a mapped window in bytes. A window only gets larger if a single line does not fit.
+     */
+    public static final int WINDOW_SIZE = 1 << 26;
+
+    private static final byte LINE_FEED = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+
+    private final FileChannel channel;
+    private final long size;
+    private final ByteLine line;
+    private MappedByteBuffer window;
+
+    // the position of the window in the file and the position of the next line in the window
+    private long windowStart;
+    private int position;
+
+    private long linesRead;
+
+    /**
+     * Opens and maps the given file.
+     *
+     * @param path the path of the file
+     * @throws IOException if the file cannot be opened or mapped
+     */
+    public MappedLineSource(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.size = channel.size();
+        this.line = new ByteLine();
+        map(0, WINDOW_SIZE);
+        this.linesRead = 0;
+    }
+
+    @Override
+    public CharSequence readLine() {
+        if (windowStart + position >= size) {
+            return null;
+        }
+        int end = findLineFeed();
+        // a line that is longer than the largest possible window is split at the end of the window
+        while (end < 0 && windowStart + window.limit() < size
+                && (position > 0 || window.limit() < Integer.MAX_VALUE)) {
+            // the line goes on behind the window, so the window is moved to its start. Only a line that
+            // fills a whole window makes the window larger
+            map(windowStart + position, position > 0 ? WINDOW_SIZE : 2L * window.limit());
+            end = findLineFeed();
+        }
+        int next = end < 0 ? window.limit() : end + 1;
+        if (end < 0) {
+            // the last line of the file has no line feed
+            end = window.limit();
+        }
+        int lineEnd = end > position && window.get(end - 1) == CARRIAGE_RETURN ? end - 1 : end;
+        line.set(window, position, lineEnd - position);
+        position = next;
+        linesRead++;
+        return line;
+    }
+
+    @Override
+    public boolean ready() {
+        return true;
+    }
+
+    /**
+     * Returns the number of lines that have been read.
+     *
+     * @return the number of lines
+     */
+    public long getLinesRead() {
+        return linesRead;
+    }
+
+    /**
+     * Closes the file. The window stays mapped until it is garbage collected.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    // returns the index of the next line feed in the window - or -1 if there is none
+    private int findLineFeed() {
+        int limit = window.limit();
+        for (int i = position; i < limit; i++) {
+            if (window.get(i) == LINE_FEED) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // maps the given part of the file, it ends at the end of the file at the latest
+    private void map(long start, long length) {
+        try {
+            long mappedLength = Math.min(Math.min(length, Integer.MAX_VALUE), size - start);
+            this.window = channel.map(FileChannel.MapMode.READ_ONLY, start, mappedLength);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.windowStart = start;
+        this.position = 0;
+    }
+}
@@ -0,0 +1,36 @@
+package view.io;
+
+/**
+ * Defines the method signature of an output sink.
+ * An output sink takes the lines that the command line interface shows to the user.
+ *
+ * @author Moritz
+ * @version 1.0
+ */
+public interface OutputSink {
+
+    /**
+     * The prefix of every error message.
+     */
+    String ERROR_PREFIX = "Error, ";
+
+    /**
+     * Prints a line. The line may be held back until the next {@link #flush()}.
+     *
+     * @param line the line
+     */
+    void printLine(String line);
+
+    /**
+     * Prints an error message, prefixed by {@value #ERROR_PREFIX}.
+     * The message may be held back until the next {@link #flush()}.
+     *
+     * @param message the error message
+     */
+    void printError(String message);
+
+    /**
+     * Writes all lines that have been held back.
+     */
+    void flush();
+}
@@ -0,0 +1,143 @@
+package view.io;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A bounded ring buffer for exactly one producer thread and one consumer thread.
+ *
+ * The producer only writes the tail and the consumer only writes the head, so neither of them needs a lock.
+ * Each side keeps a cached copy of the other index and only reads the shared one when the ring looks full
+ * or empty. A thread that has to wait spins for a short while and then parks until the other side has
+ * put or taken an element, which also keeps the ring usable on a single core.
+ *
+ * @param <E> the type of the elements
+ * @author Moritz
+ * @version 1.0
+ */
+public final class SpscRing<E> {
+
+    // the number of times to look at the other index again before parking
+    private static final int SPINS = 64;
+
+    private final Object[] elements;
+    private final int mask;
+
+    // the index of the next element to take, only written by the consumer
+    private final AtomicLong head;
+    // the index of the next element to put, only written by the producer
+    private final AtomicLong tail;
+
+    private volatile Thread waitingProducer;
+    private volatile Thread waitingConsumer;
+
+    // the last seen index of the other side, each only used by one thread
+    private long cachedHead;
+    private long cachedTail;
+
+    /**
+     * Creates a new and empty ring.
+     *
+     * @param capacity the maximum number of elements, is rounded up to a power of two
+     */
+    public SpscRing(int capacity) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.elements = new Object[size];
+        this.mask = size - 1;
+        this.head = new AtomicLong();
+        this.tail = new AtomicLong();
+    }
+
+    /**
+     * Puts an element at the end of the ring, waiting while the ring is full.
+     * May only be called by the producer thread.
+     *
+     * @param element the element, must not be null
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public void put(E element) throws InterruptedException {
+        long index = tail.get();
+        if (index - cachedHead >= elements.length) {
+            cachedHead = head.get();
+            int spins = 0;
+            while (index - cachedHead >= elements.length) {
+                if (spins++ < SPINS) {
+                    Thread.onSpinWait();
+                } else {
+                    waitingProducer = Thread.currentThread();
+                    if (index - head.get() >= elements.length) {
+                        LockSupport.park(this);
+                    }
+                    waitingProducer = null;
+                    checkInterrupted();
+                }
+                cachedHead = head.get();
+            }
+        }
+        elements[(int) index & mask] = element;
+        // the volatile write publishes the element before a waiting consumer is looked up
+        tail.set(index + 1);
+        Thread consumer = waitingConsumer;
+        if (consumer != null) {
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    /**
+     * Takes the first element of the ring, waiting while the ring is empty.
+     * May only be called by the consumer thread.
+     *
+     * @return the element
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public E take() throws InterruptedException {
+        E element = poll();
+        int spins = 0;
+        while (element == null) {
+            if (spins++ < SPINS) {
+                Thread.onSpinWait();
+            } else {
+                waitingConsumer = Thread.currentThread();
+                if (head.get() == tail.get()) {
+                    LockSupport.park(this);
+                }
+                waitingConsumer = null;
+                checkInterrupted();
+            }
+            element = poll();
+        }
+        return element;
+    }
+
+    /**
+     * Takes the first element of the ring if there is one.
+     * May only be called by the consumer thread.
+     *
+     * @return the element - or null if the ring is empty
+     */
+    public E poll() {
+        long index = head.get();
+        if (index == cachedTail) {
+            cachedTail = tail.get();
+            if (index == cachedTail) {
+                return null;
+            }
+        }
+        int slot = (int) index & mask;
+        @SuppressWarnings("unchecked")
+        E element = (E) elements[slot];
+        elements[slot] = null;
+        head.set(index + 1);
+        Thread producer = waitingProducer;
+        if (producer != null) {
+            LockSupport.unpark(producer);
+        }
+        return element;
+    }
+
+    private static void checkInterrupted() throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package view.io;
+
+import edu.kit.informatik.Terminal;
+
+/**
+ * The terminal line source reads the lines with the {@link Terminal}.
+ * Since the terminal does not tell whether more input is ready, the input always counts as idle.
+ *
+ * @author Moritz
+ * @version 1.0
+ */
+public class TerminalLineSource implements LineSource {
+
+    @Override
+    public String readLine() {
+        return Terminal.readLine();
+    }
+
+    @Override
+    public boolean ready() {
+        return false;
+    }
+}
@@ -0,0 +1,27 @@
+package view.io;
+
+import edu.kit.informatik.Terminal;
+
+/**
+ * The terminal sink prints every line right away with the {@link Terminal}.
+ *
+ * @author Moritz
+ * @version 1.0
+ */
+public class TerminalSink implements OutputSink {
+
+    @Override
+    public void printLine(String line) {
+        Terminal.printLine(line);
+    }
+
+    @Override
+    public void printError(String message) {
+        Terminal.printError(message);
+    }
+
+    @Override
+    public void flush() {
+        // every line has been printed already
+    }
+}
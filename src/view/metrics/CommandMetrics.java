@@ -0,0 +1,208 @@
+package view.metrics;
+
+import model.GameState;
+import view.cli.CardGameCommand;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The command metrics record how long each command takes, which commands are rejected and
+ * how the game state changes.
+ *
+ * There is a {@link LatencyHistogram} for each {@link CardGameCommand}, a counter for each type of
+ * exception that rejected a command and a matrix of the game states before and after each command.
+ * All of them can be updated and read by several threads without locking.
+ *
+ * @author Moritz
+ * @version 1.0
+ */
+public class CommandMetrics {
+
+    private static final int AMOUNT_OF_STATES = GameState.values().length;
+
+    private static final double NANOS_PER_MICRO = 1e3;
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    // the reported percentiles
+    private static final double[] QUANTILES = {0.5, 0.99, 0.999};
+    private static final String[] QUANTILE_NAMES = {"p50", "p99", "p999"};
+
+    private final long startNanos;
+    private final LatencyHistogram[] latencies;
+    private final Map<String, LongAdder> rejections;
+
+    // the number of commands by state before * AMOUNT_OF_STATES + state after
+    private final AtomicLongArray transitions;
+
+    /**
+     * Creates new and empty command metrics.
+     */
+    public CommandMetrics() {
+        this.startNanos = System.nanoTime();
+        this.latencies = new LatencyHistogram[CardGameCommand.values().length];
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = new LatencyHistogram();
+        }
+        this.rejections = new ConcurrentHashMap<>();
+        this.transitions = new AtomicLongArray(AMOUNT_OF_STATES * AMOUNT_OF_STATES);
+    }
+
+    /**
+     * Records an executed command.
+     *
+     * @param command the command
+     * @param nanos   the time that the execution took in nanoseconds
+     * @param before  the game state before the command
+     * @param after   the game state after the command
+     */
+    public void recordCommand(CardGameCommand command, long nanos, GameState before, GameState after) {
+        latencies[command.ordinal()].record(nanos);
+        transitions.incrementAndGet(before.ordinal() * AMOUNT_OF_STATES + after.ordinal());
+    }
+
+    /**
+     * Records a rejected command.
+     *
+     * @param exception the exception that rejected the command
+     */
+    public void recordRejection(Exception exception) {
+        rejections.computeIfAbsent(exception.getClass().getSimpleName(), type -> new LongAdder()).increment();
+    }
+
+    /**
+     * Returns the latencies of the given command.
+     *
+     * @param command the command
+     * @return the histogram of the latencies
+     */
+    public LatencyHistogram getLatencies(CardGameCommand command) {
+        return latencies[command.ordinal()];
+    }
+
+    /**
+     * Returns the number of rejected commands by the simple name of the exception type, sorted by name.
+     *
+     * @return the rejections by exception type
+     */
+    public Map<String, Long> getRejections() {
+        Map<String, Long> result = new TreeMap<>();
+        for (Map.Entry<String, LongAdder> entry : rejections.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().sum());
+        }
+        return result;
+    }
+
+    /**
+     * Returns how many commands changed the game state from one state to the other.
+     *
+     * @param before the game state before the commands
+     * @param after  the game state after the commands
+     * @return the number of commands
+     */
+    public long getTransitions(GameState before, GameState after) {
+        return transitions.get(before.ordinal() * AMOUNT_OF_STATES + after.ordinal());
+    }
+
+    /**
+     * Returns the statistics as lines of text for the user: the throughput, the percentiles of each
+     * command that has been executed, the rejections and the transitions between game states.
+     *
+     * @return the lines of the statistics
+     */
+    public List<String> toLines() {
+        List<String> lines = new ArrayList<>();
+        double seconds = getElapsedSeconds();
+        long total = 0;
+        for (LatencyHistogram histogram : latencies) {
+            total += histogram.getCount();
+        }
+        lines.add(String.format(Locale.ROOT, "commands: %d in %.1f s, %.1f per second", total, seconds,
+                total / seconds));
+        for (CardGameCommand command : CardGameCommand.values()) {
+            LatencyHistogram histogram = latencies[command.ordinal()];
+            if (histogram.getCount() == 0) {
+                continue;
+            }
+            StringBuilder line = new StringBuilder();
+            line.append(String.format(Locale.ROOT, "%s: %d", getName(command), histogram.getCount()));
+            for (int i = 0; i < QUANTILES.length; i++) {
+                line.append(String.format(Locale.ROOT, ", %s %.1f us", QUANTILE_NAMES[i],
+                        histogram.getValueAtQuantile(QUANTILES[i]) / NANOS_PER_MICRO));
+            }
+            line.append(String.format(Locale.ROOT, ", max %.1f us, %.1f per second",
+                    histogram.getMaxNanos() / NANOS_PER_MICRO, histogram.getCount() / seconds));
+            lines.add(line.toString());
+        }
+        for (Map.Entry<String, Long> entry : getRejections().entrySet()) {
+            lines.add("rejected by " + entry.getKey() + ": " + entry.getValue());
+        }
+        for (GameState before : GameState.values()) {
+            for (GameState after : GameState.values()) {
+                long count = getTransitions(before, after);
+                if (count > 0 && before != after) {
+                    lines.add(before + " -> " + after + ": " + count);
+                }
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Writes the metrics in the OpenMetrics text format.
+     *
+     * @param out the output
+     */
+    public void writeOpenMetrics(StringBuilder out) {
+        out.append("# TYPE cardgame_command_latency_seconds summary\n");
+        out.append("# UNIT cardgame_command_latency_seconds seconds\n");
+        out.append("# HELP cardgame_command_latency_seconds The time that the execution of a command takes.\n");
+        for (CardGameCommand command : CardGameCommand.values()) {
+            LatencyHistogram histogram = latencies[command.ordinal()];
+            if (histogram.getCount() == 0) {
+                continue;
+            }
+            String label = "command=\"" + getName(command) + "\"";
+            for (double quantile : QUANTILES) {
+                out.append(String.format(Locale.ROOT, "cardgame_command_latency_seconds{%s,quantile=\"%s\"} %.9f\n",
+                        label, quantile, histogram.getValueAtQuantile(quantile) / NANOS_PER_SECOND));
+            }
+            out.append(String.format(Locale.ROOT, "cardgame_command_latency_seconds_sum{%s} %.9f\n",
+                    label, histogram.getTotalNanos() / NANOS_PER_SECOND));
+            out.append(String.format(Locale.ROOT, "cardgame_command_latency_seconds_count{%s} %d\n",
+                    label, histogram.getCount()));
+        }
+        out.append("# TYPE cardgame_command_rejections counter\n");
+        out.append("# HELP cardgame_command_rejections The rejected commands by exception type.\n");
+        for (Map.Entry<String, Long> entry : getRejections().entrySet()) {
+            out.append("cardgame_command_rejections_total{exception=\"").append(entry.getKey()).append("\"} ")
+                    .append(entry.getValue()).append('\n');
+        }
+        out.append("# TYPE cardgame_state_transitions counter\n");
+        out.append("# HELP cardgame_state_transitions The commands by game state before and after them.\n");
+        for (GameState before : GameState.values()) {
+            for (GameState after : GameState.values()) {
+                long count = getTransitions(before, after);
+                if (count > 0) {
+                    out.append("cardgame_state_transitions_total{from=\"").append(before)
+                            .append("\",to=\"").append(after).append("\"} ").append(count).append('\n');
+                }
+            }
+        }
+        out.append("# EOF\n");
+    }
+
+    private double getElapsedSeconds() {
+        return Math.max(1, System.nanoTime() - startNanos) / NANOS_PER_SECOND;
+    }
+
+    private static String getName(CardGameCommand command) {
+        return command.name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,125 @@
+package view.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram of latencies in nanoseconds with logarithmic buckets.
+ *
+ * Similar to an HdrHistogram, each power of two is split into {@value #SUB_BUCKETS} linear sub-buckets,
+ * so every recorded value is off by at most 1/{@value #SUB_BUCKETS} of itself. Values below
+ * {@value #SUB_BUCKETS} are exact. Recording only increments an atomic counter, so any number of
+ * threads can record and read at the same time.
+ *
+ * @author Moritz
+ * @version 1.0
+ */
+public final class LatencyHistogram {
+
+    // the number of linear sub-buckets per power of two, must be a power of two itself
+    private static final int SUB_BUCKETS = 16;
+    private static final int SUB_BUCKET_BITS = Integer.numberOfTrailingZeros(SUB_BUCKETS);
+
+    // one group of sub-buckets for the small values and one for each remaining power of two
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts;
+    private final AtomicLong totalCount;
+    private final AtomicLong totalNanos;
+    private final AtomicLong maxNanos;
+
+    /**
+     * Creates a new and empty latency histogram.
+     */
+    public LatencyHistogram() {
+        this.counts = new AtomicLongArray(BUCKETS);
+        this.totalCount = new AtomicLong();
+        this.totalNanos = new AtomicLong();
+        this.maxNanos = new AtomicLong();
+    }
+
+    /**
+     * Records a latency.
+     *
+     * @param nanos the latency in nanoseconds, negative values are recorded as zero
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(getBucket(value));
+        totalCount.incrementAndGet();
+        totalNanos.addAndGet(value);
+        maxNanos.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Returns the number of recorded latencies.
+     *
+     * @return the number of recorded latencies
+     */
+    public long getCount() {
+        return totalCount.get();
+    }
+
+    /**
+     * Returns the sum of all recorded latencies.
+     *
+     * @return the sum in nanoseconds
+     */
+    public long getTotalNanos() {
+        return totalNanos.get();
+    }
+
+    /**
+     * Returns the highest recorded latency.
+     *
+     * @return the highest latency in nanoseconds
+     */
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * Returns the latency below or at which the given fraction of all recorded latencies are.
+     * The result is the highest value of its bucket, but never more than the highest recorded latency.
+     *
+     * @param quantile the fraction, e.g. 0.99 for the 99th percentile
+     * @return the latency in nanoseconds - or zero if nothing has been recorded
+     */
+    public long getValueAtQuantile(double quantile) {
+        long count = getCount();
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * count));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += counts.get(bucket);
+            if (seen >= rank) {
+                return Math.min(getHighestValue(bucket), getMaxNanos());
+            }
+        }
+        // the counts of the buckets can be behind the total count while other threads record
+        return getMaxNanos();
+    }
+
+    // the exact values below SUB_BUCKETS have their own buckets, above that the bucket is given by the
+    // highest bit and the SUB_BUCKET_BITS bits after it
+    private static int getBucket(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int highestBit = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int shift = highestBit - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long getHighestValue(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long lowestValue = (long) (bucket % SUB_BUCKETS + SUB_BUCKETS) << shift;
+        return lowestValue + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,92 @@
+package view.metrics;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The metrics file writer periodically writes command metrics to a file in the OpenMetrics text format.
+ *
+ * The metrics are written to a temporary file first, which then replaces the file, so a reader never sees
+ * a partly written file. The writer runs on a daemon thread, so it does not keep the program alive.
+ *
+ * @author Moritz
+ * @version 1.0
+ */
+public class MetricsFileWriter implements AutoCloseable {
+
+    // the time that closing waits for a periodic write that is still running
+    private static final long TERMINATION_TIMEOUT_SECONDS = 10;
+
+    private final CommandMetrics metrics;
+    private final Path path;
+    private final Path temporaryPath;
+    private final ScheduledExecutorService executor;
+
+    /**
+     * Creates a new metrics file writer and starts writing the metrics periodically.
+     *
+     * @param metrics         the metrics to write
+     * @param path            the path of the file
+     * @param intervalSeconds the time between two writes in seconds, which has to be positive
+     * @throws IllegalArgumentException if the interval is not positive
+     */
+    public MetricsFileWriter(CommandMetrics metrics, Path path, long intervalSeconds) {
+        this.metrics = metrics;
+        this.path = path;
+        this.temporaryPath = path.resolveSibling(path.getFileName() + ".tmp");
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-file-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleAtFixedRate(this::writeQuietly, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Writes the current metrics to the file.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    public void write() throws IOException {
+        StringBuilder out = new StringBuilder();
+        metrics.writeOpenMetrics(out);
+        Files.write(temporaryPath, out.toString().getBytes(StandardCharsets.UTF_8));
+        Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Stops the periodic writes and writes the metrics one last time, once a periodic write that is
+     * still running has finished. Otherwise both writes would use the same temporary file.
+     *
+     * @throws IOException if the file cannot be written or the periodic write does not finish
+     */
+    @Override
+    public void close() throws IOException {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(TERMINATION_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                throw new IOException("the periodic write does not finish");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while waiting for the periodic write");
+        }
+        write();
+    }
+
+    // the periodic writes cannot report errors, the next write tries again
+    private void writeQuietly() {
+        try {
+            write();
+        } catch (IOException e) {
+            // ignored, the metrics are written again after the next interval
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package view.server;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * The buffer pool lends direct byte buffers of the same size to the sessions of the game server.
+ *
+ * Allocating a direct buffer is expensive and its memory is only freed by the garbage collector, so the
+ * buffers are reused. A session only holds a buffer while it has a partial line or unwritten output, so
+ * thousands of idle connections need no buffers at all. At most {@code maxPooled} returned buffers are kept,
+ * any further buffer is left to the garbage collector. The pool is only used by the selector thread,
+ * so it is not thread-safe.
+ *
+ * @author Moritz
+ * @version 1.0
+ */
+public class BufferPool {
+
+    private final int bufferSize;
+    private final int maxPooled;
+    private final Deque<ByteBuffer> buffers;
+    private long allocated;
+
+    /**
+     * Creates a new and empty buffer pool.
+     *
+     * @param bufferSize the size of the buffers in bytes
+     * @param maxPooled  the maximum number of buffers that are kept for reuse
+     */
+    public BufferPool(int bufferSize, int maxPooled) {
+        this.bufferSize = bufferSize;
+        this.maxPooled = maxPooled;
+        this.buffers = new ArrayDeque<>();
+        this.allocated = 0;
+    }
+
+    /**
+     * Lends a cleared buffer, which is allocated if the pool is empty.
+     *
+     * @return the buffer
+     */
+    public ByteBuffer acquire() {
+        ByteBuffer buffer = buffers.pollFirst();
+        if (buffer == null) {
+            buffer = ByteBuffer.allocateDirect(bufferSize);
+            allocated++;
+        }
+        return buffer;
+    }
+
+    /**
+     * Returns a buffer to the pool. The buffer must not be used after it has been returned.
+     *
+     * @param buffer the buffer
+     */
+    public void release(ByteBuffer buffer) {
+        if (buffers.size() < maxPooled) {
+            buffer.clear();
+            // the most recently used buffer is lent first, its memory is most likely still cached
+            buffers.addFirst(buffer);
+        }
+    }
+
+    /**
+     * Returns the size of the buffers in bytes.
+     *
+     * @return the buffer size
+     */
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * Returns the number of buffers that have been allocated since the pool was created.
+     *
+     * @return the number of allocated buffers
+     */
+    public long getAllocated() {
+        return allocated;
+    }
+}
@@ -0,0 +1,220 @@
+package view.server;
+
+import edu.kit.informatik.Terminal;
+import view.metrics.CommandMetrics;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+
+/**
+ * The game server lets many clients play the card game over TCP at the same time.
+ *
+ * Every connection is a {@link Session} with its own game, which speaks exactly the commands and responses
+ * of the command line interface: the client sends lines of input and receives the output that the program
+ * would print. All connections are served by a single thread with a selector, which only wakes up for the
+ * connections that have something to read or write, so an idle connection costs no thread and no buffer.
+ * The buffers are direct buffers from a shared {@link BufferPool}, so the socket reads and writes need no
+ * extra copy. The sessions share the command metrics, so the stats command shows those of the whole server.
+ *
+ * @author Moritz
+ * @version 1.0
+ */
+public final class GameServer implements Runnable, Closeable {
+
+    /**
+     * The port of the server if no other port is given.
+     */
+    public static final int DEFAULT_PORT = 4242;
+
+    /**
+     * The size of the pooled buffers in bytes, which is also the maximum length of a line.
+     */
+    public static final int BUFFER_SIZE = 1 << 14;
+
+    /**
+     * The maximum number of buffers that the pool keeps for reuse.
+     */
+    public static final int MAX_POOLED_BUFFERS = 1 << 12;
+
+    // the number of connections that may wait to be accepted
+    private static final int BACKLOG = 1 << 12;
+
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final BufferPool pool;
+    private final CommandMetrics metrics;
+    private volatile boolean closed;
+
+    /**
+     * Creates a new game server and binds it to the given address. The server accepts connections once
+     * it runs.
+     *
+     * @param address the address of the server, the port 0 binds an ephemeral port
+     * @param metrics the metrics of the executed commands of all sessions
+     * @throws IOException if the server cannot be bound
+     */
+    public GameServer(InetSocketAddress address, CommandMetrics metrics) throws IOException {
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(address, BACKLOG);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        this.pool = new BufferPool(BUFFER_SIZE, MAX_POOLED_BUFFERS);
+        this.metrics = metrics;
+        this.closed = false;
+    }
+
+    /**
+     * Returns the port that the server is bound to.
+     *
+     * @return the port
+     */
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    /**
+     * Returns the pool of the buffers of the sessions. It must only be used while the server does not run.
+     *
+     * @return the buffer pool
+     */
+    public BufferPool getBufferPool() {
+        return pool;
+    }
+
+    /**
+     * Serves the connections until the server is closed. Then all connections are closed.
+     */
+    @Override
+    public void run() {
+        try {
+            while (!closed) {
+                selector.select();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (key.isValid()) {
+                        handle(key);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            closeAll();
+        }
+    }
+
+    /**
+     * Stops the server. It can be called by any thread, the connections are closed by the thread that runs
+     * the server.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        selector.wakeup();
+    }
+
+    private void handle(SelectionKey key) {
+        if (key.isAcceptable()) {
+            accept();
+            return;
+        }
+        Session session = (Session) key.attachment();
+        try {
+            if (key.isReadable()) {
+                session.read();
+            }
+            if (key.isValid() && key.isWritable()) {
+                session.write();
+            }
+        } catch (IOException e) {
+            // the client has reset the connection
+            session.close();
+        } catch (RuntimeException e) {
+            // only this session is ended, the other sessions are served on
+            Terminal.printError("the session has failed: " + e);
+            session.close();
+        }
+    }
+
+    private void accept() {
+        SocketChannel channel = acceptNext();
+        while (channel != null) {
+            try {
+                channel.configureBlocking(false);
+                // the responses of a read are written at once, so they are sent without delay
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+                key.attach(new Session(channel, key, pool, metrics));
+            } catch (IOException | RuntimeException e) {
+                // e.g. the client has reset the connection before it has been set up
+                closeChannel(channel);
+            }
+            channel = acceptNext();
+        }
+    }
+
+    // accepts the next waiting connection - or returns null if there is none or it cannot be accepted
+    private SocketChannel acceptNext() {
+        try {
+            return serverChannel.accept();
+        } catch (IOException e) {
+            // e.g. too many open files, the remaining connections are accepted once the selector wakes up again
+            Terminal.printError("cannot accept a connection: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static void closeChannel(SocketChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // the connection is gone either way
+        }
+    }
+
+    private void closeAll() {
+        for (SelectionKey key : selector.keys()) {
+            if (key.attachment() instanceof Session) {
+                ((Session) key.attachment()).close();
+            }
+        }
+        try {
+            serverChannel.close();
+            selector.close();
+        } catch (IOException e) {
+            Terminal.printError("cannot close the server: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Starts a game server, which runs until the program is stopped.
+     *
+     * @param args optionally the port, the default is {@value #DEFAULT_PORT}
+     * @throws IOException if the server cannot be bound
+     */
+    public static void main(String[] args) throws IOException {
+        int port = DEFAULT_PORT;
+        if (args.length > 0) {
+            try {
+                port = Integer.parseInt(args[0]);
+            } catch (NumberFormatException nfe) {
+                Terminal.printError("cannot parse number");
+                return;
+            }
+        }
+        GameServer server = new GameServer(new InetSocketAddress(port), new CommandMetrics());
+        Terminal.printLine("listening on port " + server.getPort());
+        server.run();
+    }
+}
@@ -0,0 +1,292 @@
+package view.server;
+
+import controller.CardGameManager;
+import controller.Deck;
+import edu.kit.informatik.Terminal;
+import model.BuildableObject;
+import view.cli.CommandLineInterface;
+import view.io.BufferedOutputSink;
+import view.io.ChannelLineSource;
+import view.metrics.CommandMetrics;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * The load client plays many games on a game server at the same time and checks every response.
+ *
+ * Each connection sends a random script of commands, which starts with a shuffled deck and contains
+ * invalid input as well, and ends with the quit command. The expected output of a script is that of the
+ * command line interface for the same input, so the client verifies that the server speaks exactly the
+ * protocol of the command line interface. All connections are driven by a single thread with a selector.
+ * Unless a port is given, the client starts a server on an ephemeral port of the loopback address.
+ *
+ * @author Moritz
+ * @version 1.0
+ */
+public final class LoadClient {
+
+    private static final String CONNECTIONS_OPTION = "--connections";
+    private static final String COMMANDS_OPTION = "--commands";
+    private static final String SEED_OPTION = "--seed";
+    private static final String PORT_OPTION = "--port";
+
+    private static final int DEFAULT_CONNECTIONS = 500;
+    private static final int DEFAULT_COMMANDS = 1000;
+    private static final long DEFAULT_SEED = 42;
+
+    // the client gives up once no connection has made progress for so long
+    private static final long TIMEOUT_MILLIS = 30_000;
+
+    private static final int READ_BUFFER_SIZE = 1 << 16;
+
+    private static final String[] INVALID_INPUT = {"", " ", "draw now", "Draw", "build", "build  club",
+        "build foo", "build? x", "rollD5 3", "rollD6", "rollD8 -1", "rollD+06 +03", "start wood,,metal",
+        "list-resources x", "reset 1"};
+
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    private final List<Connection> connections;
+    private long commands;
+
+    private LoadClient() {
+        this.connections = new ArrayList<>();
+        this.commands = 0;
+    }
+
+    /**
+     * Runs the load client and prints the throughput and the number of connections whose output was not the
+     * expected one. The exit code is 1 if there was such a connection.
+     *
+     * @param args optionally "--connections &lt;n&gt;", "--commands &lt;n&gt;" per connection,
+     *             "--seed &lt;n&gt;" and "--port &lt;n&gt;" of a running server on the loopback address
+     * @throws IOException          if the connections fail
+     * @throws InterruptedException if the thread is interrupted while the started server is closed
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int connectionCount = DEFAULT_CONNECTIONS;
+        int commandCount = DEFAULT_COMMANDS;
+        long seed = DEFAULT_SEED;
+        int port = -1;
+        try {
+            for (int i = 0; i + 1 < args.length; i += 2) {
+                if (args[i].equals(CONNECTIONS_OPTION)) {
+                    connectionCount = Integer.parseInt(args[i + 1]);
+                } else if (args[i].equals(COMMANDS_OPTION)) {
+                    commandCount = Integer.parseInt(args[i + 1]);
+                } else if (args[i].equals(SEED_OPTION)) {
+                    seed = Long.parseLong(args[i + 1]);
+                } else if (args[i].equals(PORT_OPTION)) {
+                    port = Integer.parseInt(args[i + 1]);
+                }
+            }
+        } catch (NumberFormatException nfe) {
+            Terminal.printError("cannot parse number");
+            return;
+        }
+
+        GameServer server = null;
+        Thread serverThread = null;
+        if (port < 0) {
+            server = new GameServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), new CommandMetrics());
+            port = server.getPort();
+            serverThread = new Thread(server, "game-server");
+            serverThread.setDaemon(true);
+            serverThread.start();
+        }
+
+        LoadClient client = new LoadClient();
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = 0; i < connectionCount; i++) {
+            client.addConnection(random.split(), commandCount);
+        }
+        long start = System.nanoTime();
+        client.run(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        double seconds = (System.nanoTime() - start) / NANOS_PER_SECOND;
+        if (server != null) {
+            server.close();
+            serverThread.join();
+            Terminal.printLine("the server allocated " + server.getBufferPool().getAllocated() + " buffers of "
+                    + server.getBufferPool().getBufferSize() + " bytes");
+        }
+
+        int mismatches = 0;
+        for (int i = 0; i < client.connections.size(); i++) {
+            Connection connection = client.connections.get(i);
+            if (!connection.hasPassed()) {
+                mismatches++;
+                Terminal.printLine(String.format("connection %d differs after %d of %d bytes", i,
+                        connection.getMatchingBytes(), connection.expected.length));
+            }
+        }
+        Terminal.printLine(String.format(Locale.ROOT,
+                "%d connections, %d commands in %.3f s, %.0f commands per second, %d mismatches",
+                connectionCount, client.commands, seconds, client.commands / seconds, mismatches));
+        System.exit(mismatches == 0 ? 0 : 1);
+    }
+
+    // creates a random script and its expected output
+    private void addConnection(SplittableRandom random, int commandCount) throws IOException {
+        StringBuilder script = new StringBuilder();
+        // some clients end their lines like a windows terminal
+        String lineEnd = random.nextInt(4) == 0 ? "\r\n" : "\n";
+        script.append("start ").append(Deck.shuffled(random)).append(lineEnd);
+        for (int i = 0; i < commandCount; i++) {
+            script.append(randomCommand(random)).append(lineEnd);
+        }
+        script.append("quit").append(lineEnd);
+        commands += commandCount + 2;
+        byte[] input = script.toString().getBytes(StandardCharsets.US_ASCII);
+        connections.add(new Connection(input, expectedOutput(input)));
+    }
+
+    // drives all connections until each one has been closed by the server
+    private void run(InetSocketAddress address) throws IOException {
+        Selector selector = Selector.open();
+        for (Connection connection : connections) {
+            SocketChannel channel = SocketChannel.open();
+            channel.configureBlocking(false);
+            channel.connect(address);
+            channel.register(selector, SelectionKey.OP_CONNECT, connection);
+        }
+        ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        int open = connections.size();
+        while (open > 0) {
+            if (selector.select(TIMEOUT_MILLIS) == 0) {
+                Terminal.printError(open + " connections have stalled");
+                break;
+            }
+            Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                SelectionKey key = keys.next();
+                keys.remove();
+                if (!handle(key, readBuffer)) {
+                    key.channel().close();
+                    open--;
+                }
+            }
+        }
+        for (SelectionKey key : selector.keys()) {
+            key.channel().close();
+        }
+        selector.close();
+    }
+
+    // returns false once the server has closed the connection
+    private static boolean handle(SelectionKey key, ByteBuffer readBuffer) throws IOException {
+        SocketChannel channel = (SocketChannel) key.channel();
+        Connection connection = (Connection) key.attachment();
+        if (key.isConnectable()) {
+            channel.finishConnect();
+            key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+            return true;
+        }
+        if (key.isWritable()) {
+            channel.write(connection.script);
+            if (!connection.script.hasRemaining()) {
+                key.interestOps(SelectionKey.OP_READ);
+            }
+        }
+        if (key.isReadable()) {
+            readBuffer.clear();
+            if (channel.read(readBuffer) < 0) {
+                return false;
+            }
+            readBuffer.flip();
+            connection.receive(readBuffer);
+        }
+        return true;
+    }
+
+    // the output of the command line interface for the given input
+    private static byte[] expectedOutput(byte[] input) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BufferedOutputSink output = new BufferedOutputSink(Channels.newChannel(out));
+        new CommandLineInterface(new CardGameManager(), new CommandMetrics(),
+                new ChannelLineSource(Channels.newChannel(new ByteArrayInputStream(input))), output).run();
+        return out.toByteArray();
+    }
+
+    // the stats command is left out, because the server shows the metrics of all its sessions
+    private static String randomCommand(SplittableRandom random) {
+        int choice = random.nextInt(100);
+        if (choice < 45) {
+            return "draw";
+        }
+        if (choice < 65) {
+            BuildableObject[] buildableObjects = BuildableObject.values();
+            return "build " + buildableObjects[random.nextInt(buildableObjects.length)].getTypeAsString();
+        }
+        if (choice < 80) {
+            int pips = 4 + 2 * random.nextInt(3);
+            return "rollD" + pips + " " + (1 + random.nextInt(pips));
+        }
+        if (choice < 84) {
+            return "build?";
+        }
+        if (choice < 88) {
+            return "list-resources";
+        }
+        if (choice < 92) {
+            return "list-buildings";
+        }
+        if (choice < 94) {
+            return "reset";
+        }
+        if (choice < 95) {
+            return "start " + Deck.shuffled(random);
+        }
+        return INVALID_INPUT[random.nextInt(INVALID_INPUT.length)];
+    }
+
+    /**
+     * A connection of the load client with its script and the expected output, which is compared
+     * with the received output as it arrives.
+     */
+    private static final class Connection {
+
+        private final ByteBuffer script;
+        private final byte[] expected;
+        private int received;
+        private boolean differs;
+
+        Connection(byte[] script, byte[] expected) {
+            this.script = ByteBuffer.wrap(script);
+            this.expected = expected;
+            this.received = 0;
+            this.differs = false;
+        }
+
+        void receive(ByteBuffer bytes) {
+            while (bytes.hasRemaining() && !differs) {
+                if (received >= expected.length || bytes.get() != expected[received]) {
+                    differs = true;
+                    return;
+                }
+                received++;
+            }
+        }
+
+        boolean hasPassed() {
+            return !differs && received == expected.length;
+        }
+
+        int getMatchingBytes() {
+            return received;
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package view.server;
+
+import controller.CardGameManager;
+import view.cli.CommandLineInterface;
+import view.io.ByteLine;
+import view.io.EncodedResponses;
+import view.io.OutputSink;
+import view.metrics.CommandMetrics;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * A session is one connection to the game server with its own game and command line interface.
+ *
+ * The bytes that are read are framed into lines in a pooled buffer and each line is executed as a
+ * {@link ByteLine}, exactly like a line of piped input. The responses are encoded into a queue of pooled
+ * buffers, which is written once all lines of a read have been executed. While the client does not read
+ * its responses, the session stops reading, so a slow client cannot make the server buffer without limit.
+ * The session ends after the quit command or the end of the input, once all responses have been written.
+ *
+ * @author Moritz
+ * @version 1.0
+ */
+final class Session implements OutputSink {
+
+    /**
+     * The error message for a line that does not fit into a buffer. No command is that long.
+     */
+    static final String LINE_TOO_LONG = "the line is too long.";
+
+    // the session stops reading while more buffers than this are waiting to be written
+    private static final int MAX_PENDING_BUFFERS = 4;
+
+    private static final byte LINE_FEED = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+
+    private static final byte[] LINE_SEPARATOR = EncodedResponses.getLineSeparator();
+    private static final byte[] ERROR_PREFIX = EncodedResponses.getErrorPrefix();
+    private static final int MAX_ASCII = 0x7F;
+
+    private final SocketChannel channel;
+    private final SelectionKey key;
+    private final BufferPool pool;
+    private final CommandLineInterface commandLineInterface;
+    private final ByteLine line;
+
+    // the buffers of the output are all in the state for writing into them
+    private final Deque<ByteBuffer> output;
+    // the buffer of a partial line - or null if there is none
+    private ByteBuffer input;
+    private boolean closing;
+
+    /**
+     * Creates a new session with a new game.
+     *
+     * @param channel the channel of the connection
+     * @param key     the key of the channel at the selector of the server
+     * @param pool    the pool of the buffers
+     * @param metrics the metrics of the executed commands
+     */
+    Session(SocketChannel channel, SelectionKey key, BufferPool pool, CommandMetrics metrics) {
+        this.channel = channel;
+        this.key = key;
+        this.pool = pool;
+        this.commandLineInterface = new CommandLineInterface(new CardGameManager(), metrics, this);
+        this.line = new ByteLine();
+        this.output = new ArrayDeque<>();
+        this.input = null;
+        this.closing = false;
+    }
+
+    /**
+     * Reads from the channel, executes all complete lines and writes the responses.
+     *
+     * @throws IOException if the connection has failed
+     */
+    void read() throws IOException {
+        if (input == null) {
+            input = pool.acquire();
+        }
+        boolean endOfInput = channel.read(input) < 0;
+        input.flip();
+        executeLines();
+        if (!closing && input.hasRemaining()) {
+            if (endOfInput) {
+                // the last line has no line feed
+                executeLine(input.position(), input.limit());
+                input.position(input.limit());
+            } else if (input.remaining() == input.capacity()) {
+                printError(LINE_TOO_LONG);
+                closing = true;
+            }
+        }
+        closing |= endOfInput;
+        if (!closing && input.hasRemaining()) {
+            input.compact();
+        } else {
+            pool.release(input);
+            input = null;
+        }
+        write();
+    }
+
+    /**
+     * Writes as many responses as the channel takes and updates the operations that the session waits for.
+     * The session is closed once it is closing and everything has been written.
+     *
+     * @throws IOException if the connection has failed
+     */
+    void write() throws IOException {
+        while (!output.isEmpty()) {
+            ByteBuffer buffer = output.peekFirst();
+            buffer.flip();
+            channel.write(buffer);
+            if (buffer.hasRemaining()) {
+                buffer.compact();
+                break;
+            }
+            pool.release(output.pollFirst());
+        }
+        if (closing && output.isEmpty()) {
+            close();
+            return;
+        }
+        int operations = output.isEmpty() ? 0 : SelectionKey.OP_WRITE;
+        if (!closing && output.size() <= MAX_PENDING_BUFFERS) {
+            operations |= SelectionKey.OP_READ;
+        }
+        key.interestOps(operations);
+    }
+
+    /**
+     * Closes the connection and returns the buffers to the pool. The responses that have not been
+     * written are lost.
+     */
+    void close() {
+        if (!channel.isOpen()) {
+            return;
+        }
+        key.cancel();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // the connection is gone either way
+        }
+        if (input != null) {
+            pool.release(input);
+            input = null;
+        }
+        while (!output.isEmpty()) {
+            pool.release(output.pollFirst());
+        }
+    }
+
+    @Override
+    public void printLine(String line) {
+        byte[] encoded = EncodedResponses.getEncodedLine(line);
+        if (encoded != null) {
+            put(encoded);
+            return;
+        }
+        putText(line);
+        put(LINE_SEPARATOR);
+    }
+
+    @Override
+    public void printError(String message) {
+        put(ERROR_PREFIX);
+        putText(message);
+        put(LINE_SEPARATOR);
+    }
+
+    @Override
+    public void flush() {
+        // the responses are written once all lines of a read have been executed
+    }
+
+    // executes the lines up to the last line feed, unless the session is closing
+    private void executeLines() {
+        int limit = input.limit();
+        for (int i = input.position(); i < limit && !closing; i++) {
+            if (input.get(i) == LINE_FEED) {
+                executeLine(input.position(), i);
+                input.position(i + 1);
+            }
+        }
+    }
+
+    private void executeLine(int start, int end) {
+        int lineEnd = end > start && input.get(end - 1) == CARRIAGE_RETURN ? end - 1 : end;
+        line.set(input, start, lineEnd - start);
+        commandLineInterface.execute(line);
+        if (!commandLineInterface.isRunning()) {
+            closing = true;
+        }
+    }
+
+    // copies ASCII text directly into the buffers, anything else is encoded with the default charset
+    private void putText(String text) {
+        ByteBuffer buffer = last();
+        for (int i = 0; i < text.length(); i++) {
+            char character = text.charAt(i);
+            if (character > MAX_ASCII) {
+                put(text.substring(i).getBytes(Charset.defaultCharset()));
+                return;
+            }
+            if (!buffer.hasRemaining()) {
+                buffer = last();
+            }
+            buffer.put((byte) character);
+        }
+    }
+
+    private void put(byte[] bytes) {
+        int offset = 0;
+        while (offset < bytes.length) {
+            ByteBuffer buffer = last();
+            int count = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, count);
+            offset += count;
+        }
+    }
+
+    // the last buffer of the output, a new one is added if it is full
+    private ByteBuffer last() {
+        ByteBuffer buffer = output.peekLast();
+        if (buffer == null || !buffer.hasRemaining()) {
+            buffer = pool.acquire();
+            output.addLast(buffer);
+        }
+        return buffer;
+    }
+}